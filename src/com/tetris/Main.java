@@ -1,8 +1,21 @@
 package com.tetris;
 
 import com.tetris.controller.GameController;
+import com.tetris.db.PersistenceSubscriber;
+import com.tetris.engine.AutoShift;
+import com.tetris.engine.EventBus;
+import com.tetris.engine.MetricsSubscriber;
+import com.tetris.engine.SimulationLoop;
 import com.tetris.model.Board;
+import com.tetris.replay.Replay;
+import com.tetris.replay.ReplaySubscriber;
+import com.tetris.util.AudioSubscriber;
+import com.tetris.util.HighScoreStore;
+import com.tetris.util.SoundManager;
+import com.tetris.view.ActiveRenderer;
 import com.tetris.view.GameFrame;
+import java.io.IOException;
+import java.nio.file.Paths;
 import javax.swing.SwingUtilities;
 
 /**
@@ -12,22 +25,104 @@ import javax.swing.SwingUtilities;
 public class Main {
 
     public static void main(String[] args) {
+        // Opcional: "--replay arquivo.trp" exibe uma partida gravada em vez de iniciar o menu;
+        // "--autoplay" começa direto uma partida jogada pelo bot;
+        // "--width N" / "--height N" trocam as dimensões do tabuleiro;
+        // "--hz N" muda a frequência da simulação; "--das MS" / "--arr MS" a repetição das setas;
+        // "--active-render" desenha a partida numa thread própria, a "--fps N" quadros (0 = sem limite)
+        Replay replay = null;
+        boolean autoplay = false;
+        int width = Board.DEFAULT_WIDTH;
+        int height = Board.DEFAULT_HEIGHT;
+        int hz = SimulationLoop.DEFAULT_HZ;
+        int das = AutoShift.DEFAULT_DAS_MILLIS;
+        int arr = AutoShift.DEFAULT_ARR_MILLIS;
+        boolean activeRender = false;
+        int fps = -1; // -1 = taxa do monitor
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--replay") && i + 1 < args.length) {
+                try {
+                    replay = Replay.read(Paths.get(args[++i]));
+                } catch (IOException e) {
+                    System.err.println("Erro ao ler o replay: " + e.getMessage());
+                    System.exit(1);
+                }
+            } else if (args[i].equals("--autoplay")) {
+                autoplay = true;
+            } else if (args[i].equals("--width") && i + 1 < args.length) {
+                width = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--height") && i + 1 < args.length) {
+                height = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--hz") && i + 1 < args.length) {
+                hz = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--das") && i + 1 < args.length) {
+                das = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--arr") && i + 1 < args.length) {
+                arr = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--active-render")) {
+                activeRender = true;
+            } else if (args[i].equals("--fps") && i + 1 < args.length) {
+                fps = Integer.parseInt(args[++i]);
+            }
+        }
+        if (replay != null) {
+            // O replay só pode ser reproduzido no tabuleiro em que foi gravado
+            width = replay.getWidth();
+            height = replay.getHeight();
+        }
+        final Replay replayToShow = replay;
+        final boolean startWithBot = autoplay && replay == null;
+        final int columns = width;
+        final int rows = height;
+        final int simulationHz = hz;
+        final int dasMillis = das;
+        final int arrMillis = arr;
+        final boolean useActiveRender = activeRender;
+        final int targetFps = fps;
+
+        // Efeitos decodificados antes de abrir a janela; as linhas são fechadas na saída
+        SoundManager.preload();
+        Runtime.getRuntime().addShutdownHook(new Thread(SoundManager::shutdown));
 
         SwingUtilities.invokeLater(() -> {
             // 1. Cria o Model
-            Board board = new Board();
+            Board board = new Board(columns, rows);
+            board.setHighScore(HighScoreStore.load());
 
             // 2. Cria a View
-            GameFrame gameFrame = new GameFrame();
+            GameFrame gameFrame = new GameFrame(columns, rows);
+
+            // 3. Barramento de eventos: som, banco, replays e métricas em threads próprias
+            EventBus events = new EventBus();
+            events.subscribe("audio", new AudioSubscriber());
+            events.subscribe("persistencia", new PersistenceSubscriber());
+            events.subscribe("replay", new ReplaySubscriber("replays"));
+            events.subscribe("metricas", new MetricsSubscriber(events));
+            // Ao fechar a janela, deixa os assinantes terminarem o que já foi publicado
+            Runtime.getRuntime().addShutdownHook(new Thread(events::shutdown));
 
-            // 3. Cria o Controller e conecta o Model e a View
-            GameController gameController = new GameController(gameFrame, board);
+            // 4. Cria o Controller e conecta o Model e a View
+            GameController gameController = new GameController(gameFrame, board, events, simulationHz);
 
             // Conecta o controller à frame para que a UI (ex: OverlayPanel) possa usá-lo
             gameFrame.setController(gameController);
+            gameController.setAutoShift(dasMillis, arrMillis);
+            if (useActiveRender) {
+                ActiveRenderer renderer = gameFrame.getGamePanel().enableActiveRendering(
+                        targetFps >= 0 ? targetFps : ActiveRenderer.displayRefreshRate());
+                gameController.setActiveRenderer(renderer);
+                renderer.start();
+            }
 
-            // 4. Inicia o controller (timer & view) e exibe a janela
+            // 5. Inicia o controller (thread da simulação & view) e exibe a janela
             gameController.start();
+            if (replayToShow != null) {
+                gameController.playReplay(replayToShow);
+            } else if (startWithBot) {
+                gameController.setPlayerName("Bot");
+                gameController.startGameFromUI();
+                gameController.setAutoplay(true);
+            }
             gameFrame.setVisible(true);
         });
     }
@@ -0,0 +1,319 @@
+package com.tetris.ai;
+
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.Orientation;
+import com.tetris.model.Piece;
+import com.tetris.model.PieceGenerator;
+import com.tetris.model.Shape;
+import java.util.Arrays;
+
+/**
+ * Bot com lookahead: busca em feixe (beam search) sobre a peça atual e as próximas da fila
+ * (a "próxima peça" do Board e as espiadas com {@link PieceGenerator#peek(int)}).
+ *
+ * Em cada nível só os {@code beamWidth} melhores tabuleiros seguem adiante. A avaliação
+ * estática de cada tabuleiro fica numa {@link TranspositionTable} indexada por hash Zobrist,
+ * então estados que reaparecem (na mesma busca ou na seguinte) não são avaliados de novo,
+ * e caminhos diferentes que chegam ao mesmo tabuleiro no mesmo nível são descartados.
+ */
+public class BeamSearchBot implements Bot {
+
+    public static final int DEFAULT_BEAM_WIDTH = 16;
+    public static final int DEFAULT_DEPTH = 3;
+    public static final int DEFAULT_TABLE_BITS = 18;
+
+    private final int width;
+    private final int height;
+    private final int beamWidth;
+    private final int depth;
+    private HeuristicWeights weights;
+
+    private final PlacementEnumerator rootEnumerator;
+    private final PlacementEnumerator enumerator;
+    private final PlacementEvaluator evaluator;
+    private final Zobrist zobrist;
+    private final TranspositionTable table;
+
+    private final Shape.Tetrominoe[] queue;
+    private final long[] rootRows;
+    private final long[] parentRows;
+    private final long[] scratch;
+
+    // Feixe atual: tabuleiros, hashes, recompensa de linhas acumulada e jogada raiz de origem
+    private long[] beamRows;
+    private long[] beamHash;
+    private double[] beamLines;
+    private int[] beamRoot;
+    private int beamCount;
+
+    // Próximo feixe, montado a partir dos candidatos escolhidos
+    private long[] nextRows;
+    private long[] nextHash;
+    private double[] nextLines;
+    private int[] nextRoot;
+
+    // Candidatos do nível: só a jogada é guardada; o tabuleiro é refeito para os escolhidos
+    private int[] candParent;
+    private Orientation[] candOrientation;
+    private int[] candX;
+    private int[] candY;
+    private long[] candHash;
+    private double[] candLines;
+    private double[] candScore;
+    private int candCount;
+
+    // Min-heap com os índices dos melhores candidatos (o pior fica no topo)
+    private final int[] heap;
+    private int heapSize;
+
+    private long decisions = 0;
+    private long decisionNanos = 0;
+
+    public BeamSearchBot(int width, int height, HeuristicWeights weights) {
+        this(width, height, weights, DEFAULT_BEAM_WIDTH, DEFAULT_DEPTH, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * @param beamWidth quantos tabuleiros sobrevivem em cada nível
+     * @param depth quantas peças olhar (1 = só a atual; no máximo 2 + {@link PieceGenerator#LOOKAHEAD})
+     * @param tableBits log2 do número de entradas da tabela de transposição
+     */
+    public BeamSearchBot(int width, int height, HeuristicWeights weights, int beamWidth, int depth, int tableBits) {
+        if (beamWidth < 1 || depth < 1 || depth > 2 + PieceGenerator.LOOKAHEAD) {
+            throw new IllegalArgumentException("Parâmetros inválidos: feixe=" + beamWidth + ", profundidade=" + depth);
+        }
+        this.width = width;
+        this.height = height;
+        this.beamWidth = beamWidth;
+        this.depth = depth;
+        this.weights = weights;
+        this.rootEnumerator = new PlacementEnumerator(width, height);
+        this.enumerator = new PlacementEnumerator(width, height);
+        this.evaluator = new PlacementEvaluator(width, height);
+        this.zobrist = new Zobrist(width, height, 0x5EEDL);
+        this.table = new TranspositionTable(tableBits);
+
+        this.queue = new Shape.Tetrominoe[depth];
+        this.rootRows = new long[height];
+        this.parentRows = new long[height];
+        this.scratch = new long[height];
+
+        this.beamRows = new long[beamWidth * height];
+        this.beamHash = new long[beamWidth];
+        this.beamLines = new double[beamWidth];
+        this.beamRoot = new int[beamWidth];
+        this.nextRows = new long[beamWidth * height];
+        this.nextHash = new long[beamWidth];
+        this.nextLines = new double[beamWidth];
+        this.nextRoot = new int[beamWidth];
+        this.heap = new int[beamWidth];
+        ensureCandidates(beamWidth * 4 * width);
+    }
+
+    @Override
+    public Input[] decide(Board board) {
+        long start = System.nanoTime();
+        table.newSearch();
+        board.copyRowMasks(rootRows);
+        int levels = fillQueue(board);
+
+        Piece piece = board.getCurrentPiece();
+        int rootCount = rootEnumerator.enumerate(rootRows, piece.getOrientation(), piece.getX(), piece.getY());
+
+        Input[] plan = null;
+        if (rootCount > 0) {
+            // Nível 0: a raiz é o próprio tabuleiro
+            System.arraycopy(rootRows, 0, beamRows, 0, height);
+            beamHash[0] = zobrist.hash(rootRows);
+            beamLines[0] = 0;
+            beamRoot[0] = -1;
+            beamCount = 1;
+
+            int bestRoot = 0;
+            for (int level = 0; level < levels; level++) {
+                collectCandidates(level);
+                if (candCount == 0) {
+                    break; // nenhum tabuleiro do feixe comporta a próxima peça: fica com o nível anterior
+                }
+                selectBest();
+                bestRoot = advanceBeam(level);
+            }
+            plan = rootEnumerator.inputs(bestRoot);
+        }
+
+        decisions++;
+        decisionNanos += System.nanoTime() - start;
+        return plan;
+    }
+
+    /** Peças conhecidas: a atual, a próxima e as espiadas no gerador. */
+    private int fillQueue(Board board) {
+        queue[0] = board.getCurrentPiece().getShape();
+        int n = 1;
+        if (n < depth) {
+            queue[n++] = board.getNextPiece().getShape();
+        }
+        PieceGenerator generator = board.getGenerator();
+        for (int i = 0; n < depth; i++) {
+            queue[n++] = generator.peek(i);
+        }
+        return n;
+    }
+
+    private void collectCandidates(int level) {
+        candCount = 0;
+        for (int b = 0; b < beamCount; b++) {
+            System.arraycopy(beamRows, b * height, parentRows, 0, height);
+            PlacementEnumerator source;
+            int count;
+            if (level == 0) {
+                source = rootEnumerator;
+                count = rootEnumerator.count();
+            } else {
+                source = enumerator;
+                count = enumerator.enumerateSpawn(parentRows, queue[level]);
+            }
+            ensureCandidates(candCount + count);
+            for (int i = 0; i < count; i++) {
+                Orientation o = source.orientation(i);
+                int x = source.x(i);
+                int y = source.y(i);
+                int lines = evaluator.apply(parentRows, scratch, o, x, y);
+                long hash = lines == 0 ? zobrist.place(beamHash[b], o, x, y) : zobrist.hash(scratch);
+
+                double value = table.lookup(hash);
+                if (Double.isNaN(value)) {
+                    value = evaluator.score(scratch, 0, weights);
+                    table.store(hash, value);
+                }
+                // Mesmo tabuleiro após o mesmo número de peças implica o mesmo total de linhas,
+                // então o caminho repetido não tem nada a acrescentar
+                if (!table.markVisited(hash, level)) {
+                    continue;
+                }
+
+                int c = candCount++;
+                // No nível 0 a origem é a própria jogada raiz, guardada como -1 - i
+                candParent[c] = level == 0 ? -1 - i : b;
+                candOrientation[c] = o;
+                candX[c] = x;
+                candY[c] = y;
+                candHash[c] = hash;
+                candLines[c] = beamLines[b] + weights.linesCleared() * lines;
+                candScore[c] = candLines[c] + value;
+            }
+        }
+    }
+
+    /** Mantém no heap os beamWidth candidatos de maior pontuação (empate: menor índice). */
+    private void selectBest() {
+        heapSize = 0;
+        for (int c = 0; c < candCount; c++) {
+            if (heapSize < beamWidth) {
+                heap[heapSize] = c;
+                siftUp(heapSize++);
+            } else if (better(c, heap[0])) {
+                heap[0] = c;
+                siftDown(0);
+            }
+        }
+    }
+
+    /**
+     * Materializa os escolhidos como o novo feixe.
+     * @return a jogada raiz do melhor candidato deste nível
+     */
+    private int advanceBeam(int level) {
+        int best = heap[0];
+        for (int k = 0; k < heapSize; k++) {
+            int c = heap[k];
+            if (better(c, best)) {
+                best = c;
+            }
+            int parent = candParent[c];
+            int from = parent < 0 ? 0 : parent;
+            System.arraycopy(beamRows, from * height, parentRows, 0, height);
+            evaluator.apply(parentRows, scratch, candOrientation[c], candX[c], candY[c]);
+            System.arraycopy(scratch, 0, nextRows, k * height, height);
+            nextHash[k] = candHash[c];
+            nextLines[k] = candLines[c];
+            nextRoot[k] = level == 0 ? -1 - parent : beamRoot[parent];
+        }
+        int bestRoot = level == 0 ? -1 - candParent[best] : beamRoot[candParent[best]];
+
+        long[] rows = beamRows; beamRows = nextRows; nextRows = rows;
+        long[] hashes = beamHash; beamHash = nextHash; nextHash = hashes;
+        double[] lines = beamLines; beamLines = nextLines; nextLines = lines;
+        int[] roots = beamRoot; beamRoot = nextRoot; nextRoot = roots;
+        beamCount = heapSize;
+        return bestRoot;
+    }
+
+    private boolean better(int a, int b) {
+        return candScore[a] > candScore[b] || (candScore[a] == candScore[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (!better(heap[parent], heap[i])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= heapSize) {
+                break;
+            }
+            int worst = l;
+            if (l + 1 < heapSize && better(heap[l], heap[l + 1])) {
+                worst = l + 1;
+            }
+            if (!better(heap[i], heap[worst])) {
+                break;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+    }
+
+    private void ensureCandidates(int capacity) {
+        if (candParent != null && candParent.length >= capacity) {
+            return;
+        }
+        int size = Math.max(capacity, candParent == null ? 0 : candParent.length * 2);
+        candParent = candParent == null ? new int[size] : Arrays.copyOf(candParent, size);
+        candOrientation = candOrientation == null ? new Orientation[size] : Arrays.copyOf(candOrientation, size);
+        candX = candX == null ? new int[size] : Arrays.copyOf(candX, size);
+        candY = candY == null ? new int[size] : Arrays.copyOf(candY, size);
+        candHash = candHash == null ? new long[size] : Arrays.copyOf(candHash, size);
+        candLines = candLines == null ? new double[size] : Arrays.copyOf(candLines, size);
+        candScore = candScore == null ? new double[size] : Arrays.copyOf(candScore, size);
+    }
+
+    public void setWeights(HeuristicWeights weights) {
+        this.weights = weights;
+        table.clear(); // as avaliações guardadas eram dos pesos antigos
+    }
+
+    public HeuristicWeights getWeights() { return weights; }
+    public TranspositionTable getTable() { return table; }
+
+    @Override
+    public long getDecisions() { return decisions; }
+
+    @Override
+    public long getDecisionNanos() { return decisionNanos; }
+}
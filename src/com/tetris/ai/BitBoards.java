@@ -0,0 +1,88 @@
+package com.tetris.ai;
+
+import com.tetris.model.Orientation;
+import java.util.Arrays;
+
+/**
+ * Operações sobre bitboards soltos (long[] com uma máscara por linha), usadas pelos bots
+ * para simular jogadas sem mexer no Board. Seguem as mesmas regras do Board.
+ */
+public final class BitBoards {
+
+    private BitBoards() { }
+
+    public static long fullRowMask(int width) {
+        return width == 64 ? -1L : (1L << width) - 1;
+    }
+
+    /**
+     * Grava a peça nas linhas (células acima de 'height' são descartadas, como no Board).
+     */
+    public static void place(long[] rows, int height, Orientation orientation, int x, int y) {
+        int leftColumn = x + orientation.minX();
+        int topRow = y - orientation.minY();
+        for (int k = 0; k < orientation.rowCount(); k++) {
+            int row = topRow - k;
+            if (row < height) {
+                rows[row] |= orientation.rowMask(k) << leftColumn;
+            }
+        }
+    }
+
+    /**
+     * Remove as linhas completas compactando numa só passada.
+     * @return quantas linhas foram removidas
+     */
+    public static int clearFullRows(long[] rows, int height, long fullMask) {
+        int dst = 0;
+        for (int src = 0; src < height; src++) {
+            long row = rows[src];
+            if (row != fullMask) {
+                rows[dst++] = row;
+            }
+        }
+        int cleared = height - dst;
+        for (int y = dst; y < height; y++) {
+            rows[y] = 0L;
+        }
+        return cleared;
+    }
+
+    /** Altura da pilha: linha ocupada mais alta + 1. */
+    public static int stackHeight(long[] rows, int height) {
+        int top = height;
+        while (top > 0 && rows[top - 1] == 0) {
+            top--;
+        }
+        return top;
+    }
+
+    /**
+     * Preenche 'heights' com a altura de cada coluna, varrendo as máscaras de cima para baixo.
+     */
+    public static void columnHeights(long[] rows, int height, int width, int[] heights) {
+        Arrays.fill(heights, 0, width, 0);
+        long pending = fullRowMask(width);
+        for (int y = stackHeight(rows, height) - 1; y >= 0 && pending != 0; y--) {
+            long found = rows[y] & pending;
+            pending &= ~found;
+            while (found != 0) {
+                heights[Long.numberOfTrailingZeros(found)] = y + 1;
+                found &= found - 1;
+            }
+        }
+    }
+
+    /**
+     * Conta os buracos: células vazias com algum bloco acima na mesma coluna.
+     */
+    public static int holes(long[] rows, int height) {
+        long covered = 0;
+        int holes = 0;
+        for (int y = stackHeight(rows, height) - 1; y >= 0; y--) {
+            holes += Long.bitCount(covered & ~rows[y]);
+            covered |= rows[y];
+        }
+        return holes;
+    }
+}
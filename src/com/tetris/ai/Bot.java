@@ -0,0 +1,25 @@
+package com.tetris.ai;
+
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+
+/**
+ * Um jogador automático: dado o estado do Board, devolve os comandos da próxima jogada.
+ */
+public interface Bot {
+
+    /**
+     * @return os comandos que levam a peça atual até a posição escolhida e a travam,
+     *         ou null se não houver posição possível
+     */
+    Input[] decide(Board board);
+
+    long getDecisions();
+
+    long getDecisionNanos();
+
+    default double decisionsPerSecond() {
+        long nanos = getDecisionNanos();
+        return nanos == 0 ? 0 : getDecisions() / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tetris.ai;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import com.tetris.sim.InputPolicy;
+
+/**
+ * Adapta um {@link Bot} à interface de políticas do simulador: planeja a jogada
+ * quando uma peça nasce e entrega os comandos um a um.
+ */
+public class BotPolicy implements InputPolicy {
+
+    private final Bot bot;
+    private Input[] plan;
+    private int next;
+    private long plannedPiece = -1;
+
+    public BotPolicy(Bot bot) {
+        this.bot = bot;
+    }
+
+    @Override
+    public Input nextInput(GameEngine engine) {
+        // Replaneja quando a peça mudou (travou) ou o plano acabou
+        if (plan == null || next >= plan.length || engine.getPieceCount() != plannedPiece) {
+            plan = bot.decide(engine.getBoard());
+            next = 0;
+            plannedPiece = engine.getPieceCount();
+            if (plan == null) {
+                return Input.HARD_DROP;
+            }
+        }
+        return plan[next++];
+    }
+
+    @Override
+    public long decisions() { return bot.getDecisions(); }
+
+    @Override
+    public long decisionNanos() { return bot.getDecisionNanos(); }
+}
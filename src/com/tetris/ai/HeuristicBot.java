@@ -0,0 +1,101 @@
+package com.tetris.ai;
+
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.Piece;
+import java.util.stream.IntStream;
+
+/**
+ * Bot guloso: enumera todas as posições finais da peça atual e escolhe a de melhor
+ * pontuação heurística. Em tabuleiros grandes as posições são avaliadas em paralelo.
+ */
+public class HeuristicBot implements Bot {
+
+    // A partir de quantas células o custo de avaliar compensa dividir entre threads
+    private static final int PARALLEL_THRESHOLD = 2_000;
+
+    private final int width;
+    private final int height;
+    private final PlacementEnumerator enumerator;
+    private final PlacementEvaluator evaluator;
+    private final ThreadLocal<PlacementEvaluator> parallelEvaluators;
+    private final long[] rows;
+    private double[] scores; // cresce com o número de posições
+    private HeuristicWeights weights;
+
+    private long decisions = 0;
+    private long decisionNanos = 0;
+
+    public HeuristicBot(int width, int height, HeuristicWeights weights) {
+        this.width = width;
+        this.height = height;
+        this.weights = weights;
+        this.enumerator = new PlacementEnumerator(width, height);
+        this.evaluator = new PlacementEvaluator(width, height);
+        this.parallelEvaluators = ThreadLocal.withInitial(() -> new PlacementEvaluator(width, height));
+        this.rows = new long[height];
+        this.scores = new double[0];
+    }
+
+    /**
+     * Escolhe a jogada para a peça atual do Board.
+     * @return os comandos que levam a peça até a melhor posição e a travam, ou null se não houver posição
+     */
+    @Override
+    public Input[] decide(Board board) {
+        long start = System.nanoTime();
+        board.copyRowMasks(rows);
+        Piece piece = board.getCurrentPiece();
+        int count = enumerator.enumerate(rows, piece.getOrientation(), piece.getX(), piece.getY());
+
+        Input[] plan = null;
+        if (count > 0) {
+            int best = (width * height >= PARALLEL_THRESHOLD) ? bestParallel(count) : bestSequential(count);
+            plan = enumerator.inputs(best);
+        }
+
+        decisions++;
+        decisionNanos += System.nanoTime() - start;
+        return plan;
+    }
+
+    private int bestSequential(int count) {
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double score = evaluator.evaluate(rows, enumerator.orientation(i), enumerator.x(i), enumerator.y(i), weights);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int bestParallel(int count) {
+        HeuristicWeights w = weights;
+        if (scores.length < count) {
+            scores = new double[Math.max(count, 2 * scores.length)];
+        }
+        double[] scores = this.scores;
+        IntStream.range(0, count).parallel().forEach(i -> scores[i] = parallelEvaluators.get()
+                .evaluate(rows, enumerator.orientation(i), enumerator.x(i), enumerator.y(i), w));
+        // A escolha final é sequencial para manter o desempate determinístico (menor índice)
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public void setWeights(HeuristicWeights weights) { this.weights = weights; }
+    public HeuristicWeights getWeights() { return weights; }
+
+    @Override
+    public long getDecisions() { return decisions; }
+
+    @Override
+    public long getDecisionNanos() { return decisionNanos; }
+}
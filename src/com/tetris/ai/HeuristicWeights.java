@@ -0,0 +1,21 @@
+package com.tetris.ai;
+
+/**
+ * Pesos da avaliação heurística de um tabuleiro.
+ * Valores negativos penalizam a característica; positivos recompensam.
+ */
+public record HeuristicWeights(double aggregateHeight, double holes, double bumpiness, double linesCleared) {
+
+    /** Pesos clássicos de referência, bons o bastante para jogar indefinidamente no 10x20. */
+    public static final HeuristicWeights DEFAULT = new HeuristicWeights(-0.510066, -0.35663, -0.184483, 0.760666);
+
+    public static final int SIZE = 4;
+
+    public double[] toArray() {
+        return new double[] { aggregateHeight, holes, bumpiness, linesCleared };
+    }
+
+    public static HeuristicWeights fromArray(double[] values) {
+        return new HeuristicWeights(values[0], values[1], values[2], values[3]);
+    }
+}
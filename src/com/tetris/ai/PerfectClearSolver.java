@@ -0,0 +1,351 @@
+package com.tetris.ai;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.Orientation;
+import com.tetris.model.Piece;
+import com.tetris.model.PieceGenerator;
+import com.tetris.model.Shape;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Resolve puzzles sobre bitboards: dada uma sequência conhecida de peças, procura jogadas que
+ * limpem o tabuleiro inteiro (perfect clear) ou completem um número alvo de linhas.
+ *
+ * A busca é uma DFS dividida entre threads pelas jogadas da primeira peça. Cortes:
+ * <ul>
+ *   <li>altura: nenhuma célula pode passar de {@code maxHeight};</li>
+ *   <li>paridade: num perfect clear, células + 4 * peças usadas precisa ser múltiplo da largura
+ *       para algum número de peças ainda disponível;</li>
+ *   <li>linhas: no modo alvo, nem enchendo tudo dá para completar as linhas que faltam;</li>
+ *   <li>memória: estados (tabuleiro, profundidade) já explorados sem sucesso, compartilhados
+ *       entre as threads e indexados por hash Zobrist.</li>
+ * </ul>
+ *
+ * O {@link #main} resolve a partir de uma partida nova e joga a solução de volta pelo
+ * {@link GameEngine}, conferindo que o tabuleiro terminou vazio (ou que o alvo foi atingido).
+ *
+ * Uso: java -cp bin com.tetris.ai.PerfectClearSolver [--seed S] [--pieces N] [--target L]
+ *                                                    [--max-height H] [--threads T]
+ *                                                    [--generator uniform|bag] [--width W] [--height H]
+ */
+public class PerfectClearSolver {
+
+    // Limite de estados memorizados, para a memória não crescer sem controle em buscas longas
+    private static final int MAX_MEMO = 4_000_000;
+
+    private final int width;
+    private final int height;
+    private final long fullMask;
+    private final Zobrist zobrist;
+
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder pruned = new LongAdder();
+
+    /** Solução: os comandos de cada peça, na ordem da fila. */
+    public record Solution(Input[][] moves, int linesCleared) {
+
+        public int pieces() { return moves.length; }
+
+        /** Todos os comandos em sequência, prontos para o GameEngine. */
+        public Input[] flatten() {
+            return Arrays.stream(moves).flatMap(Arrays::stream).toArray(Input[]::new);
+        }
+    }
+
+    public PerfectClearSolver(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.fullMask = BitBoards.fullRowMask(width);
+        this.zobrist = new Zobrist(width, height, 0x50C5L);
+    }
+
+    /**
+     * Resolve a partir do estado do Board, usando a peça atual, a próxima e as espiadas no gerador.
+     * @param pieces quantas peças da fila podem ser usadas (no máximo 2 + {@link PieceGenerator#LOOKAHEAD})
+     * @param targetLines 0 para perfect clear; senão, quantas linhas completar
+     * @return a solução, ou null se não existir dentro dos limites
+     */
+    public Solution solve(Board board, int pieces, int maxHeight, int targetLines, ForkJoinPool pool) {
+        if (pieces < 1 || pieces > 2 + PieceGenerator.LOOKAHEAD) {
+            throw new IllegalArgumentException("Quantidade de peças fora da fila conhecida: " + pieces);
+        }
+        Shape.Tetrominoe[] queue = new Shape.Tetrominoe[pieces];
+        queue[0] = board.getCurrentPiece().getShape();
+        if (pieces > 1) {
+            queue[1] = board.getNextPiece().getShape();
+        }
+        for (int i = 2; i < pieces; i++) {
+            queue[i] = board.getGenerator().peek(i - 2);
+        }
+        long[] rows = new long[height];
+        board.copyRowMasks(rows);
+        Piece piece = board.getCurrentPiece();
+        return solve(rows, piece.getOrientation(), piece.getX(), piece.getY(), queue, maxHeight, targetLines, pool);
+    }
+
+    /**
+     * Resolve para um bitboard qualquer. A primeira peça parte de (x, y) em 'start';
+     * as demais nascem no ponto de spawn padrão.
+     */
+    public Solution solve(long[] rows, Orientation start, int x, int y, Shape.Tetrominoe[] queue,
+                          int maxHeight, int targetLines, ForkJoinPool pool) {
+        if (maxHeight < 1 || maxHeight > height) {
+            throw new IllegalArgumentException("Altura máxima inválida: " + maxHeight);
+        }
+        failed.clear();
+        nodes.reset();
+        memoHits.reset();
+        pruned.reset();
+        Search root = new Search(queue, maxHeight, targetLines);
+        int rootCount = root.enumerators[0].enumerate(rows, start, x, y);
+
+        // Cada jogada da primeira peça é uma tarefa; fica a solução da menor jogada que tiver uma
+        AtomicInteger bestRoot = new AtomicInteger(Integer.MAX_VALUE);
+        Search[] found = new Search[rootCount];
+        pool.submit(() -> IntStream.range(0, rootCount).parallel().forEach(r -> {
+            if (r > bestRoot.get()) {
+                return;
+            }
+            Search search = new Search(queue, maxHeight, targetLines);
+            search.enumerators[0].enumerate(rows, start, x, y);
+            if (search.tryRoot(rows, r, bestRoot)) {
+                found[r] = search;
+                bestRoot.accumulateAndGet(r, Math::min);
+            }
+        })).join();
+
+        int r = bestRoot.get();
+        return r == Integer.MAX_VALUE ? null : found[r].toSolution(rows, start, x, y);
+    }
+
+    /** Estado de uma DFS: um enumerador e um tabuleiro de rascunho por profundidade. */
+    private final class Search {
+
+        final Shape.Tetrominoe[] queue;
+        final int maxHeight;
+        final int targetLines;
+        final PlacementEnumerator[] enumerators;
+        final long[][] boards;
+        final int[] path;
+        final int[] rowsByEmpty = new int[width + 1];
+        long[] rootRows;
+        int solvedDepth;
+        int solvedLines;
+        int rootIndex;
+        AtomicInteger bestRoot;
+
+        Search(Shape.Tetrominoe[] queue, int maxHeight, int targetLines) {
+            this.queue = queue;
+            this.maxHeight = maxHeight;
+            this.targetLines = targetLines;
+            this.enumerators = new PlacementEnumerator[queue.length];
+            this.boards = new long[queue.length][height];
+            this.path = new int[queue.length];
+            for (int i = 0; i < queue.length; i++) {
+                enumerators[i] = new PlacementEnumerator(width, height);
+            }
+        }
+
+        boolean tryRoot(long[] rows, int r, AtomicInteger bestRoot) {
+            this.rootRows = rows;
+            this.rootIndex = r;
+            this.bestRoot = bestRoot;
+            int cells = countCells(rows);
+            return place(0, r, cells, 0);
+        }
+
+        /**
+         * Grava a jogada 'i' da profundidade 'depth' e continua a busca a partir dela.
+         */
+        private boolean place(int depth, int i, int cells, int lines) {
+            PlacementEnumerator enumerator = enumerators[depth];
+            Orientation o = enumerator.orientation(i);
+            int x = enumerator.x(i);
+            int y = enumerator.y(i);
+            if (y - o.minY() >= maxHeight) {
+                pruned.increment();
+                return false;
+            }
+            long[] child = boards[depth];
+            System.arraycopy(depth == 0 ? rootRows : boards[depth - 1], 0, child, 0, height);
+            BitBoards.place(child, height, o, x, y);
+            int cleared = BitBoards.clearFullRows(child, height, fullMask);
+            path[depth] = i;
+            return dfs(depth + 1, cells + 4 - cleared * width, lines + cleared);
+        }
+
+        private boolean dfs(int depth, int cells, int lines) {
+            nodes.increment();
+            if (targetLines == 0 ? cells == 0 : lines >= targetLines) {
+                solvedDepth = depth;
+                solvedLines = lines;
+                return true;
+            }
+            int piecesLeft = queue.length - depth;
+            long[] rows = boards[depth - 1];
+            if (piecesLeft == 0 || !feasible(rows, cells, lines, piecesLeft) || rootIndex > bestRoot.get()) {
+                pruned.increment();
+                return false;
+            }
+            long key = zobrist.hash(rows) ^ (depth * 0x9E3779B97F4A7C15L);
+            if (failed.contains(key)) {
+                memoHits.increment();
+                return false;
+            }
+
+            PlacementEnumerator enumerator = enumerators[depth];
+            int count = enumerator.enumerateSpawn(rows, queue[depth]);
+            for (int i = 0; i < count; i++) {
+                if (place(depth, i, cells, lines)) {
+                    return true;
+                }
+            }
+            // Só memoriza falhas completas: uma busca abortada por outra thread não prova nada
+            if (rootIndex <= bestRoot.get() && failed.size() < MAX_MEMO) {
+                failed.add(key);
+            }
+            return false;
+        }
+
+        private boolean feasible(long[] rows, int cells, int lines, int piecesLeft) {
+            // As linhas se movem inteiras, então cada linha que ainda será completada é uma linha
+            // que já existe: as peças restantes precisam cobrir pelo menos os buracos das mais cheias
+            Arrays.fill(rowsByEmpty, 0);
+            int nonEmpty = 0;
+            for (int y = 0; y < maxHeight; y++) {
+                if (rows[y] != 0) {
+                    rowsByEmpty[width - Long.bitCount(rows[y])]++;
+                    nonEmpty++;
+                }
+            }
+            rowsByEmpty[width] += maxHeight - nonEmpty;
+
+            int needed = targetLines > 0 ? targetLines - lines : nonEmpty;
+            int minCells = 0;
+            for (int empty = 1; empty <= width && needed > 0; empty++) {
+                int take = Math.min(needed, rowsByEmpty[empty]);
+                minCells += take * empty;
+                needed -= take;
+            }
+            if (needed > 0 || minCells > 4 * piecesLeft) {
+                return false;
+            }
+            if (targetLines > 0) {
+                return true;
+            }
+            // Perfect clear: no fim não sobra célula, então células + 4 * peças usadas é múltiplo da largura
+            for (int used = (minCells + 3) / 4; used <= piecesLeft; used++) {
+                if ((cells + 4 * used) % width == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Refaz as enumerações ao longo do caminho para transformar os índices em comandos. */
+        Solution toSolution(long[] rows, Orientation start, int x, int y) {
+            PlacementEnumerator enumerator = new PlacementEnumerator(width, height);
+            long[] board = rows.clone();
+            Input[][] moves = new Input[solvedDepth][];
+            for (int d = 0; d < solvedDepth; d++) {
+                if (d == 0) {
+                    enumerator.enumerate(board, start, x, y);
+                } else {
+                    enumerator.enumerateSpawn(board, queue[d]);
+                }
+                int i = path[d];
+                moves[d] = enumerator.inputs(i);
+                long[] next = board.clone();
+                BitBoards.place(next, height, enumerator.orientation(i), enumerator.x(i), enumerator.y(i));
+                BitBoards.clearFullRows(next, height, fullMask);
+                board = next;
+            }
+            return new Solution(moves, solvedLines);
+        }
+    }
+
+    private int countCells(long[] rows) {
+        int cells = 0;
+        for (int y = 0; y < height; y++) {
+            cells += Long.bitCount(rows[y]);
+        }
+        return cells;
+    }
+
+    // --- Estatísticas da última busca ---
+    public long getNodes() { return nodes.sum(); }
+    public long getMemoHits() { return memoHits.sum(); }
+    public long getPruned() { return pruned.sum(); }
+    public int getMemoSize() { return failed.size(); }
+
+    public static void main(String[] args) {
+        long seed = 1; // no 7-bag esta semente tem perfect clear em 10 peças
+        int pieces = 10;
+        int target = 0;
+        int maxHeight = 4;
+        int threads = Runtime.getRuntime().availableProcessors();
+        PieceGenerator.Kind generatorKind = PieceGenerator.Kind.BAG;
+        int width = Board.DEFAULT_WIDTH;
+        int height = Board.DEFAULT_HEIGHT;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--pieces": pieces = Integer.parseInt(args[++i]); break;
+                case "--target": target = Integer.parseInt(args[++i]); break;
+                case "--max-height": maxHeight = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--generator": generatorKind = PieceGenerator.Kind.valueOf(args[++i].toUpperCase()); break;
+                case "--width": width = Integer.parseInt(args[++i]); break;
+                case "--height": height = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Argumento desconhecido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        Board board = new Board(width, height, generatorKind);
+        GameEngine engine = new GameEngine(board);
+        engine.start(seed);
+
+        PerfectClearSolver solver = new PerfectClearSolver(width, height);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Solution solution = solver.solve(board, pieces, maxHeight, target, pool);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        System.out.printf("Busca (%s, %d peças, altura máxima %d, semente %d): %.1f ms, %d nós, "
+                        + "%d acertos na memória, %d cortes, %d estados memorizados%n",
+                target == 0 ? "perfect clear" : target + " linhas", pieces, maxHeight, seed, elapsed / 1e6,
+                solver.getNodes(), solver.getMemoHits(), solver.getPruned(), solver.getMemoSize());
+        if (solution == null) {
+            System.out.println("Sem solução dentro dos limites.");
+            System.exit(2);
+        }
+
+        // Joga a solução de verdade: colisões, travas e limpezas do engine conferem a busca
+        for (Input input : solution.flatten()) {
+            engine.step(input);
+        }
+        boolean ok = engine.getPieceCount() == solution.pieces() && !board.isGameOver()
+                && (target == 0 ? board.getStackHeight() == 0 : board.getLinesCleared() >= target);
+        System.out.printf("Solução: %d peças, %d comandos, %d linhas; reproduzida no engine: %d peças, "
+                        + "%d linhas, pilha %d -> %s%n",
+                solution.pieces(), solution.flatten().length, solution.linesCleared(),
+                engine.getPieceCount(), board.getLinesCleared(), board.getStackHeight(), ok ? "OK" : "FALHOU");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
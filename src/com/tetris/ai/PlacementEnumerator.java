@@ -0,0 +1,267 @@
+package com.tetris.ai;
+
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.Orientation;
+import com.tetris.model.Shape;
+import java.util.Arrays;
+
+/**
+ * Enumera todas as posições finais alcançáveis por uma peça (coluna, rotação, linha de repouso),
+ * com uma busca em largura sobre os estados (x, y, rotação) usando a mesma regra de colisão
+ * do Board ({@link Orientation#fits}). Rotações simétricas (quadrado, S, Z, barra) que ocupam as
+ * mesmas células são contadas uma só vez, e cada posição guarda o caminho de comandos até ela.
+ *
+ * Acima da pilha todas as posições são equivalentes, então a busca não desce linha a linha por
+ * ali: um passo "queda livre" leva a peça direto para perto do topo da pilha, e só a faixa
+ * próxima da pilha (onde cabem encaixes e rotações sob saliências) é explorada estado a estado.
+ *
+ * Por isso os estados só cobrem as linhas até um pouco acima da pilha (mais a linha de
+ * partida, se ela estiver mais alta): os buffers crescem com a pilha, não com a altura do
+ * tabuleiro, e são reaproveitados; enquanto a pilha não passa do maior tamanho já visto,
+ * enumerar não aloca nada. Uma instância não é thread-safe; use uma por thread.
+ */
+public class PlacementEnumerator {
+
+    // Margem de colunas à esquerda/direita: x pode ficar fora de [0, width) quando minX < 0
+    private static final int X_MARGIN = 3;
+    private static final Input[] MOVES = {
+        Input.MOVE_LEFT, Input.MOVE_RIGHT, Input.ROTATE_LEFT, Input.ROTATE_RIGHT, Input.SOFT_DROP
+    };
+    private static final int SOFT_DROP = 4;
+    private static final int FALL = 5; // várias descidas de uma vez, pela zona livre acima da pilha
+    // Linhas reservadas além das exploradas, para a pilha subir um pouco sem realocar
+    private static final int ROW_MARGIN = 8;
+
+    private final int width;
+    private final int height;
+    private final int columns; // largura do espaço de x considerando as margens
+
+    // Estado da busca, indexado por (rotação, x, linha). As linhas vão de 0 até o topo da
+    // faixa explorada; se a peça parte de mais alto, a linha de partida ganha uma vaga extra
+    private int[] visited;  // geração em que o estado foi visitado
+    private int[] parent;
+    private byte[] moveTo;  // índice em MOVES usado para chegar ao estado
+    private int[] queue;
+    private int generation = 0;
+    private int rowSpan;    // linhas codificadas na enumeração atual
+    private int highY;      // linha de partida acima da faixa, ou -1
+
+    // Deduplicação de posições finais por (rotação canônica, coluna esquerda, linha de cima)
+    private int[] seenKeys;
+
+    // Resultados da última enumeração
+    private int[] resultStates;
+    private int resultCount;
+    private Shape.Tetrominoe shape;
+    private long[] rows;
+    private final long[] boardRows;
+
+    public PlacementEnumerator(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.columns = width + 2 * X_MARGIN;
+        this.visited = new int[0];
+        this.seenKeys = new int[0];
+        reserve(Math.min(height, Board.DEFAULT_HEIGHT));
+        this.boardRows = new long[height];
+    }
+
+    // Garante espaço para 'rows' linhas de estados (mais a margem, limitada à altura)
+    private void reserve(int rows) {
+        int states = 4 * columns * rows;
+        if (visited.length < states) {
+            int capacity = 4 * columns * Math.min(height + 1, rows + ROW_MARGIN);
+            capacity = Math.max(capacity, Math.min(2 * visited.length, 4 * columns * (height + 1)));
+            // Arrays novos: as marcas antigas de geração não importam mais
+            visited = new int[capacity];
+            parent = new int[capacity];
+            moveTo = new byte[capacity];
+            queue = new int[capacity];
+            resultStates = new int[capacity];
+        }
+        int keys = 4 * width * (rows + 4);
+        if (seenKeys.length < keys) {
+            seenKeys = new int[Math.max(keys, Math.min(2 * seenKeys.length, 4 * width * (height + 5)))];
+        }
+    }
+
+    /**
+     * Enumera as posições da peça atual do Board, a partir de onde ela está agora.
+     */
+    public int enumerate(Board board) {
+        board.copyRowMasks(boardRows);
+        return enumerate(boardRows, board.getCurrentPiece().getOrientation(),
+                board.getCurrentPiece().getX(), board.getCurrentPiece().getY());
+    }
+
+    /**
+     * Enumera as posições de uma peça que acabou de nascer no ponto de spawn padrão.
+     */
+    public int enumerateSpawn(long[] rows, Shape.Tetrominoe shape) {
+        Orientation start = Shape.orientation(shape, 0);
+        return enumerate(rows, start, width / 2, height - 1 + start.minY());
+    }
+
+    /**
+     * Enumera as posições alcançáveis partindo de (x, y) na rotação informada.
+     * @param rows bitboard (uma máscara por linha); não é alterado
+     * @return a quantidade de posições encontradas (0 se a posição inicial já colide)
+     */
+    public int enumerate(long[] rows, Orientation start, int x, int y) {
+        this.rows = rows;
+        this.shape = start.shape();
+        this.resultCount = 0;
+        if (++generation == 0) {
+            // Após 2^32 buscas o contador volta a zero: limpa as marcas para não confundir gerações
+            Arrays.fill(visited, 0);
+            Arrays.fill(seenKeys, 0);
+            generation = 1;
+        }
+        if (!start.fits(rows, width, height, x, y) || y >= height) {
+            return 0;
+        }
+
+        int stackHeight = height;
+        while (stackHeight > 0 && rows[stackHeight - 1] == 0) {
+            stackHeight--;
+        }
+
+        // Acima desta linha (para a célula de referência) qualquer rotação da forma fica fora da pilha
+        int shapeMaxY = 0;
+        for (int r = 0; r < 4; r++) {
+            shapeMaxY = Math.max(shapeMaxY, Shape.orientation(shape, r).maxY());
+        }
+        int freeFloor = stackHeight + shapeMaxY;
+
+        // Acima de freeFloor só a linha de partida é visitada: a queda livre vai direto à faixa
+        int bandTop = Math.min(height - 1, freeFloor);
+        if (y > bandTop) {
+            highY = y;
+            rowSpan = bandTop + 2;
+        } else {
+            highY = -1;
+            rowSpan = bandTop + 1;
+        }
+        reserve(rowSpan);
+
+        int head = 0;
+        int tail = 0;
+        int startState = encode(start.index(), x, y);
+        visited[startState] = generation;
+        parent[startState] = -1;
+        queue[tail++] = startState;
+
+        while (head < tail) {
+            int state = queue[head++];
+            int rot = rotationOf(state);
+            int sx = xOf(state);
+            int sy = yOf(state);
+            Orientation orientation = Shape.orientation(shape, rot);
+
+            for (int m = 0; m < MOVES.length; m++) {
+                Orientation next = orientation;
+                int nx = sx;
+                int ny = sy;
+                switch (m) {
+                    case 0: nx--; break;
+                    case 1: nx++; break;
+                    case 2: next = orientation.left(); break;
+                    case 3: next = orientation.right(); break;
+                    default:
+                        // Na zona livre, desce direto até a linha mais baixa que ainda é livre
+                        ny = (sy > freeFloor) ? freeFloor : sy - 1;
+                        break;
+                }
+                if (!next.fits(rows, width, height, nx, ny)) {
+                    if (m == SOFT_DROP) {
+                        addResult(state, orientation, sx, sy);
+                    }
+                    continue;
+                }
+                int nextState = encode(next.index(), nx, ny);
+                if (visited[nextState] != generation) {
+                    visited[nextState] = generation;
+                    parent[nextState] = state;
+                    moveTo[nextState] = (byte) ((m == SOFT_DROP && sy - ny > 1) ? FALL : m);
+                    queue[tail++] = nextState;
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    private void addResult(int state, Orientation orientation, int x, int y) {
+        Orientation canonical = orientation.canonical();
+        int left = x + orientation.minX();
+        int top = y - orientation.minY();
+        int key = (canonical.index() * width + left) * (rowSpan + 4) + top;
+        if (seenKeys[key] == generation) {
+            return;
+        }
+        seenKeys[key] = generation;
+        resultStates[resultCount++] = state;
+    }
+
+    // --- Acesso aos resultados da última enumeração ---
+
+    public int count() { return resultCount; }
+    public Shape.Tetrominoe shape() { return shape; }
+    public Orientation orientation(int i) { return Shape.orientation(shape, rotationOf(resultStates[i])); }
+    public int x(int i) { return xOf(resultStates[i]); }
+    public int y(int i) { return yOf(resultStates[i]); }
+
+    /** Coluna mais à esquerda ocupada pela peça na posição i. */
+    public int column(int i) { return x(i) + orientation(i).minX(); }
+
+    /**
+     * Sequência de comandos que leva a peça do início até a posição i e a trava ali.
+     * As descidas finais são trocadas por um único HARD_DROP, que pousa no mesmo lugar.
+     */
+    public Input[] inputs(int i) {
+        int state = resultStates[i];
+        // Ignora as descidas do fim do caminho
+        while (parent[state] != -1 && (moveTo[state] == SOFT_DROP || moveTo[state] == FALL)) {
+            state = parent[state];
+        }
+        int length = 0;
+        for (int s = state; parent[s] != -1; s = parent[s]) {
+            length += stepsOf(s);
+        }
+
+        Input[] path = new Input[length + 1];
+        path[length] = Input.HARD_DROP;
+        int k = length;
+        for (int s = state; parent[s] != -1; s = parent[s]) {
+            int steps = stepsOf(s);
+            Input input = (moveTo[s] == FALL) ? Input.SOFT_DROP : MOVES[moveTo[s]];
+            for (int j = 0; j < steps; j++) {
+                path[--k] = input;
+            }
+        }
+        return path;
+    }
+
+    // Quantos comandos reais um passo da busca representa (a queda livre vale várias descidas)
+    private int stepsOf(int state) {
+        return moveTo[state] == FALL ? yOf(parent[state]) - yOf(state) : 1;
+    }
+
+    // --- Codificação dos estados ---
+
+    private int encode(int rotation, int x, int y) {
+        int row = (y == highY) ? rowSpan - 1 : y;
+        return (rotation * columns + (x + X_MARGIN)) * rowSpan + row;
+    }
+
+    private int rotationOf(int state) { return state / (columns * rowSpan); }
+    private int xOf(int state) { return (state / rowSpan) % columns - X_MARGIN; }
+
+    private int yOf(int state) {
+        int row = state % rowSpan;
+        return (highY >= 0 && row == rowSpan - 1) ? highY : row;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,66 @@
+package com.tetris.ai;
+
+import com.tetris.model.Orientation;
+
+/**
+ * Aplica uma jogada num bitboard de rascunho e pontua o resultado com {@link HeuristicWeights}:
+ * altura agregada, buracos, irregularidade (bumpiness) e linhas completadas.
+ * Guarda buffers próprios; use uma instância por thread.
+ */
+public class PlacementEvaluator {
+
+    private final int width;
+    private final int height;
+    private final long fullMask;
+    private final long[] scratch;
+    private final int[] heights;
+
+    public PlacementEvaluator(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.fullMask = BitBoards.fullRowMask(width);
+        this.scratch = new long[height];
+        this.heights = new int[width];
+    }
+
+    /**
+     * Pontua a jogada (orientation, x, y) sobre 'rows' sem alterar 'rows'.
+     */
+    public double evaluate(long[] rows, Orientation orientation, int x, int y, HeuristicWeights weights) {
+        int lines = apply(rows, scratch, orientation, x, y);
+        return score(scratch, lines, weights);
+    }
+
+    /**
+     * Copia 'rows' para 'dst', grava a peça e remove as linhas completas.
+     * @return quantas linhas a jogada completou
+     */
+    public int apply(long[] rows, long[] dst, Orientation orientation, int x, int y) {
+        System.arraycopy(rows, 0, dst, 0, height);
+        BitBoards.place(dst, height, orientation, x, y);
+        return BitBoards.clearFullRows(dst, height, fullMask);
+    }
+
+    /**
+     * Pontuação heurística de um tabuleiro que acabou de completar 'lines' linhas.
+     */
+    public double score(long[] rows, int lines, HeuristicWeights weights) {
+        BitBoards.columnHeights(rows, height, width, heights);
+        int aggregate = 0;
+        int bumpiness = 0;
+        for (int x = 0; x < width; x++) {
+            aggregate += heights[x];
+            if (x > 0) {
+                bumpiness += Math.abs(heights[x] - heights[x - 1]);
+            }
+        }
+        int holes = BitBoards.holes(rows, height);
+        return weights.aggregateHeight() * aggregate
+                + weights.holes() * holes
+                + weights.bumpiness() * bumpiness
+                + weights.linesCleared() * lines;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,135 @@
+package com.tetris.ai;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição de tamanho fixo, indexada pelo hash Zobrist do tabuleiro.
+ * Guarda a avaliação estática de cada estado já visto para não recalculá-la, e marca
+ * os estados visitados em cada nível da busca para descartar caminhos repetidos.
+ *
+ * Organizada em buckets de 2 entradas: um estado novo ocupa a entrada vazia ou substitui
+ * a usada há mais tempo (menor "idade"), então a memória nunca cresce.
+ * Não é thread-safe: cada bot tem a sua.
+ */
+public class TranspositionTable {
+
+    // A marca de visita é (idade << 6) | nível num int: a idade precisa caber em 25 bits
+    private static final int LEVEL_BITS = 6;
+    private static final int MAX_AGE = 1 << (Integer.SIZE - 1 - LEVEL_BITS);
+
+    private final long[] keys;
+    private final double[] values;
+    private final int[] ages;     // busca em que a entrada foi usada pela última vez (0 = vazia)
+    private final int[] visited;  // marca (busca, nível) da última visita
+    private final int mask;
+    private int age = 1;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param bits log2 da quantidade de entradas (ex.: 16 = 65536 entradas)
+     */
+    public TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("Tamanho inválido para a tabela: 2^" + bits);
+        }
+        int size = 1 << bits;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.ages = new int[size];
+        this.visited = new int[size];
+        this.mask = size - 1;
+    }
+
+    /** Começa uma nova busca: entradas antigas passam a ser as primeiras candidatas a sair. */
+    public void newSearch() {
+        age++;
+        if (age >= MAX_AGE) {
+            clear(); // senão as marcas dariam a volta e casariam com visitas antigas
+        }
+    }
+
+    /**
+     * Avaliação guardada para o estado, ou NaN se ele não está na tabela.
+     */
+    public double lookup(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            misses++;
+            return Double.NaN;
+        }
+        hits++;
+        ages[slot] = age;
+        return values[slot];
+    }
+
+    public void store(long key, double value) {
+        int slot = find(key);
+        if (slot < 0) {
+            slot = victim(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        ages[slot] = age;
+    }
+
+    /**
+     * Marca o estado como visitado no nível informado da busca atual.
+     * @return false se ele já tinha sido visitado neste nível (transposição)
+     */
+    public boolean markVisited(long key, int level) {
+        int slot = find(key);
+        if (slot < 0) {
+            return true; // sem entrada não há como saber; trata como novo
+        }
+        int stamp = (age << LEVEL_BITS) | (level & ((1 << LEVEL_BITS) - 1));
+        if (visited[slot] == stamp) {
+            return false;
+        }
+        visited[slot] = stamp;
+        return true;
+    }
+
+    private int find(long key) {
+        int first = bucket(key);
+        if (ages[first] != 0 && keys[first] == key) return first;
+        int second = first ^ 1;
+        if (ages[second] != 0 && keys[second] == key) return second;
+        return -1;
+    }
+
+    private int victim(long key) {
+        int first = bucket(key);
+        int second = first ^ 1;
+        if (ages[first] == 0) return first;
+        if (ages[second] == 0) return second;
+        evictions++;
+        int slot = ages[first] <= ages[second] ? first : second;
+        visited[slot] = 0;
+        return slot;
+    }
+
+    private int bucket(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask & ~1;
+    }
+
+    public void clear() {
+        Arrays.fill(ages, 0);
+        Arrays.fill(visited, 0);
+        age = 1;
+    }
+
+    // --- Estatísticas ---
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public int capacity() { return keys.length; }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tetris.ai;
+
+import com.tetris.model.Orientation;
+
+/**
+ * Hash Zobrist de bitboards: XOR de uma chave aleatória por célula ocupada.
+ * Como o XOR é reversível, gravar uma peça só exige combinar as chaves das suas 4 células.
+ */
+public class Zobrist {
+
+    private final int width;
+    private final int height;
+    private final long[] cellKeys;
+
+    public Zobrist(int width, int height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.cellKeys = new long[width * height];
+        long state = seed;
+        for (int i = 0; i < cellKeys.length; i++) {
+            // SplitMix64: chaves bem distribuídas e reproduzíveis
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            cellKeys[i] = z ^ (z >>> 31);
+        }
+    }
+
+    /** Hash completo do tabuleiro. */
+    public long hash(long[] rows) {
+        long h = 0;
+        for (int y = 0; y < height; y++) {
+            long row = rows[y];
+            int base = y * width;
+            while (row != 0) {
+                h ^= cellKeys[base + Long.numberOfTrailingZeros(row)];
+                row &= row - 1;
+            }
+        }
+        return h;
+    }
+
+    /** Atualiza o hash com as células de uma peça gravada em (x, y), sem limpeza de linhas. */
+    public long place(long hash, Orientation orientation, int x, int y) {
+        for (int i = 0; i < 4; i++) {
+            int cx = x + orientation.x(i);
+            int cy = y - orientation.y(i);
+            if (cy < height) {
+                hash ^= cellKeys[cy * width + cx];
+            }
+        }
+        return hash;
+    }
+}
@@ -1,56 +1,135 @@
 package com.tetris.controller;
 
-import com.tetris.db.Database;
+import com.tetris.ai.BeamSearchBot;
+import com.tetris.ai.HeuristicWeights;
+import com.tetris.engine.AutoShift;
+import com.tetris.engine.EventBus;
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.GameListener;
+import com.tetris.engine.Input;
+import com.tetris.engine.InputQueue;
+import com.tetris.engine.LatencyHistogram;
+import com.tetris.engine.SimulationLoop;
 import com.tetris.model.Board;
+import com.tetris.model.BoardHistory;
+import com.tetris.model.BoardSnapshot;
+import com.tetris.model.DirtyRegion;
+import com.tetris.model.Shape;
 import com.tetris.model.Theme;
+import com.tetris.replay.Replay;
+import com.tetris.replay.ReplayPlayer;
+import com.tetris.replay.ReplayRecorder;
 import com.tetris.util.SoundManager;
+import com.tetris.view.ActiveRenderer;
 import com.tetris.view.GameFrame;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import javax.swing.Timer;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
 
 /**
  * Controlador principal do jogo.
  * Faz a ponte entre o modelo (Board) e a interface (GameFrame).
+ *
+ * A lógica roda num {@link SimulationLoop} de passo fixo, fora da Event Dispatch Thread:
+ * teclas vão para uma {@link InputQueue} com o horário de chegada e botões enfileiram
+ * comandos; a gravidade, a repetição das teclas ({@link AutoShift}), os replays e o bot
+ * avançam pelo tempo de jogo acumulado, independente do custo de desenhar. Depois de cada
+ * passo que mudou algo, um {@link BoardSnapshot} imutável é publicado para a interface,
+ * junto com o horário da tecla mais antiga que ele reflete, para medir a latência até a tela.
+ * Efeitos colaterais (som, banco, replays) não são feitos aqui: os eventos do Board
+ * são repassados ao {@link EventBus}, cujos assinantes rodam em threads próprias.
  */
-public class GameController extends KeyAdapter implements ActionListener {
+public class GameController extends KeyAdapter implements FocusListener, GameListener {
 
     private static final int INITIAL_DELAY = 400;
+    private static final int REWIND_DEPTH = 50;
+    private static final int AUTOPLAY_DELAY = 100; // ms entre jogadas do bot
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    // Latências de entrada em faixas de 50 µs até 250 ms
+    private static final long LATENCY_BUCKET_NANOS = 50_000;
+    private static final int LATENCY_BUCKETS = 5_000;
     private final GameFrame gameFrame;
     private final Board board;
-    private final Timer timer;
-    private int currentThemeIndex = 0;
-    private String playerName = "";
+    private final GameEngine engine;
+    private final EventBus events;
+    private final SimulationLoop loop;
+    private int currentThemeIndex = 0; // só na EDT
+    private volatile String playerName = "";
+
+    // Estado abaixo: só na thread da simulação
+    private ReplayRecorder recorder;
+    private ReplayPlayer replayPlayer; // != null enquanto um replay está sendo exibido
+    private long gravityNanos = 0;
+    private boolean gameOverHandled = true;
+    private boolean changed = false;
+
+    // Teclado: a EDT enfileira, a simulação consome no início de cada passo
+    private final InputQueue inputs = new InputQueue();
+    private final AutoShift autoShift;
+    private final BitSet heldKeys = new BitSet(); // ignora o auto-repeat do sistema
+    private long pendingInputNanos = 0; // tecla mais antiga ainda não publicada numa foto
+    private final LatencyHistogram inputToStep = new LatencyHistogram(LATENCY_BUCKET_NANOS, LATENCY_BUCKETS);
+
+    /**
+     * Foto publicada para a interface, o horário da tecla mais antiga que ela reflete
+     * (0 = nenhuma) e as células travadas que mudaram desde a foto que a EDT mostrou por último.
+     */
+    private record ViewFrame(BoardSnapshot board, long inputNanos, DirtyRegion lockedDirty) { }
+
+    // Foto ainda não vista pela EDT (null = nada novo); a EDT é avisada uma vez por foto nova
+    private final AtomicReference<ViewFrame> pendingFrame = new AtomicReference<>();
+    private ViewFrame shownFrame; // só na EDT
+    // Renderização ativa (opcional): recebe as mesmas fotos e desenha durante a partida
+    private volatile ActiveRenderer activeRenderer;
+    private final LatencyHistogram inputToFrame = new LatencyHistogram(LATENCY_BUCKET_NANOS, LATENCY_BUCKETS);
+
+    // Modo treino: snapshots no início de cada peça para poder voltar atrás (Backspace)
+    private final BoardHistory history = new BoardHistory(REWIND_DEPTH);
+    private boolean practiceMode = false;
+    // Recorde que vale (o salvo): treinos e replays não o alteram nem o gravam
+    private int recordHighScore;
+
+    // Autoplay: o bot joga uma peça a cada AUTOPLAY_DELAY de tempo de jogo (tecla A).
+    // Criado só quando o autoplay é ligado pela primeira vez (a tabela e os buffers pesam)
+    private BeamSearchBot bot;
+    private boolean autoplay = false;
+    private long autoplayNanos = 0;
+
+    public GameController(GameFrame gameFrame, Board board, EventBus events) {
+        this(gameFrame, board, events, SimulationLoop.DEFAULT_HZ);
+    }
 
-    public GameController(GameFrame gameFrame, Board board) {
+    /**
+     * @param hz frequência da simulação (passos por segundo)
+     */
+    public GameController(GameFrame gameFrame, Board board, EventBus events, int hz) {
         this.gameFrame = gameFrame;
         this.board = board;
-        this.timer = new Timer(getDelayForLevel(), this);
+        this.events = events;
+        this.engine = new GameEngine(board);
+        this.board.setListener(this);
+        this.recordHighScore = board.getHighScore();
+        this.loop = new SimulationLoop(hz, this::step);
+        this.autoShift = new AutoShift(engine);
+        this.shownFrame = new ViewFrame(board.snapshot(), 0, new DirtyRegion());
+        this.gameFrame.getGamePanel().getBoardPanel().setFramePresentedListener(this::onFramePresented);
         this.gameFrame.getGamePanel().addKeyListener(this);
+        this.gameFrame.getGamePanel().addFocusListener(this);
         this.gameFrame.getGamePanel().setFocusable(true);
     }
 
     public void startGameFromUI() {
-        if ((!board.isStarted() || board.isGameOver())) {
-            if (playerName == null || playerName.trim().isEmpty()) {
-                if (gameFrame.getOverlayPanel() != null) {
-                    gameFrame.getOverlayPanel().requestFocusForName();
-                }
-                return;
+        loop.post(() -> {
+            if (!board.isStarted() || board.isGameOver()) {
+                if (!requireName()) return;
+                startNewGame();
+                SwingUtilities.invokeLater(() -> gameFrame.getGamePanel().requestFocusInWindow());
             }
-
-            board.start();
-            if (!timer.isRunning()) timer.start();
-
-            // 🎵 Inicia a música de fundo apenas quando o jogo começa
-            SoundManager.stopMusic();
-            SoundManager.playMusic("tetris_theme.wav");
-
-            gameFrame.getGamePanel().requestFocusInWindow();
-            updateView();
-        }
+        });
     }
 
     public void setPlayerName(String name) {
@@ -58,92 +137,290 @@ public class GameController extends KeyAdapter implements ActionListener {
     }
 
     public void start() {
-        timer.start();
+        loop.start();
+        // A música do menu abre a sua linha na thread do áudio, não na EDT
+        loop.post(events::publishMenuShown);
         gameFrame.getGamePanel().requestFocusInWindow();
         updateView();
     }
 
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (board.isStarted() && !board.isPaused() && !board.isGameOver()) {
-            board.movePieceDown();
+    /** Para a thread da simulação. */
+    public void stop() {
+        loop.stop();
+    }
+
+    public SimulationLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * Liga o modo de renderização ativa: durante a partida o renderer desenha as fotos
+     * na sua própria thread; menus, pausa e game over continuam nos painéis do Swing.
+     */
+    public void setActiveRenderer(ActiveRenderer renderer) {
+        this.activeRenderer = renderer;
+    }
+
+    /**
+     * Ajusta o DAS e o ARR das setas laterais (ms). ARR = 0 leva a peça direto à parede.
+     */
+    public void setAutoShift(int dasMillis, int arrMillis) {
+        if (dasMillis < 0 || arrMillis < 0) {
+            throw new IllegalArgumentException("DAS/ARR inválidos: " + dasMillis + "/" + arrMillis);
         }
+        loop.post(() -> autoShift.configure(dasMillis, arrMillis, AutoShift.DEFAULT_SOFT_DROP_MILLIS));
+    }
 
-        if (board.isGameOver()) {
-            timer.stop();
+    /**
+     * Exibe um replay gravado em tempo real, no lugar de uma partida normal.
+     */
+    public void playReplay(Replay replay) {
+        loop.post(() -> {
+            history.clear();
+            engine.setRecorder(null);
+            recorder = null;
+            autoplay = false;
+            replayPlayer = new ReplayPlayer(replay, engine);
+            beginSession();
+            replayPlayer.start();
+        });
+    }
 
-            // 🎵 Para a música ao perder
-            SoundManager.stopMusic();
+    /**
+     * Um passo da simulação: comandos já foram aplicados pelo laço; aqui entram as teclas
+     * e avançam a repetição, a gravidade (ou o replay) e o bot. A interface recebe uma foto
+     * nova se algo mudou.
+     */
+    private void step(long stepNanos) {
+        // Primeiro as repetições, depois as teclas novas (que só carregam a partir do próximo passo)
+        if (engine.isRunning()) {
+            changed |= autoShift.update(stepNanos);
+        }
+        inputs.drain(this::onKey);
+
+        if (engine.isRunning()) {
+            gravityNanos += stepNanos;
+            long delay = getDelayForLevel() * NANOS_PER_MILLI;
+            if (gravityNanos >= delay) {
+                gravityNanos -= delay;
+                if (replayPlayer != null) {
+                    replayPlayer.advance();
+                } else {
+                    engine.tick();
+                }
+                changed = true;
+            }
+
+            if (autoplay && replayPlayer == null) {
+                autoplayNanos += stepNanos;
+                if (autoplayNanos >= AUTOPLAY_DELAY * NANOS_PER_MILLI) {
+                    autoplayNanos -= AUTOPLAY_DELAY * NANOS_PER_MILLI;
+                    playBotMove();
+                }
+            }
+        }
+
+        if (board.isGameOver() && !gameOverHandled) {
+            gameOverHandled = true;
+            handleGameOver();
+        }
 
-            Database.createTable();
+        if (changed) {
+            changed = false;
+            publishView();
+        }
+    }
+
+    private void handleGameOver() {
+        // Replays apenas são exibidos e partidas de treino não contam: nada é salvo
+        if (replayPlayer == null && !practiceMode) {
             String playerToSave = (playerName == null || playerName.trim().isEmpty()) ? "Jogador1" : playerName;
-            Database.saveGame(playerToSave, board.getScore(), board.getLevel(), board.getLinesCleared());
-            updateView();
-            return;
+            Replay replay = finishRecording(playerToSave);
+            if (replay != null) {
+                events.publishGameRecorded(replay);
+            }
+        }
+        if (autoplay) {
+            reportBotSpeed();
         }
+        System.out.println("⏱ Simulação: " + loop.describeJitter());
+        if (inputToStep.getCount() > 0) {
+            System.out.println("⌨ Tecla → passo: " + inputToStep.describe()
+                    + (inputs.getDropped() > 0 ? ", " + inputs.getDropped() + " teclas descartadas" : ""));
+        }
+    }
 
-        timer.setDelay(getDelayForLevel());
-        updateView();
+    /**
+     * Publica a foto atual e agenda (no máximo uma vez por vez) a atualização na EDT.
+     * Se a EDT ainda não viu a foto anterior, a nova a substitui herdando o horário de tecla
+     * mais antigo e as células sujas, para nada se perder.
+     */
+    private void publishView() {
+        BoardSnapshot snapshot = board.snapshot();
+        long inputNanos = pendingInputNanos;
+        pendingInputNanos = 0;
+        DirtyRegion dirty = new DirtyRegion();
+        board.collectDirtyRegion(dirty);
+        ActiveRenderer renderer = activeRenderer;
+        if (renderer != null) {
+            renderer.submit(snapshot, dirty, inputNanos);
+        }
+        while (true) {
+            ViewFrame previous = pendingFrame.get();
+            long oldest = inputNanos;
+            DirtyRegion merged = dirty;
+            if (previous != null) {
+                oldest = earliest(inputNanos, previous.inputNanos());
+                merged = new DirtyRegion();
+                merged.add(previous.lockedDirty());
+                merged.add(dirty);
+            }
+            if (pendingFrame.compareAndSet(previous, new ViewFrame(snapshot, oldest, merged))) {
+                if (previous == null) {
+                    SwingUtilities.invokeLater(this::showPendingFrame);
+                }
+                return;
+            }
+        }
     }
 
-    private void updateView() {
-        gameFrame.getGamePanel().getBoardPanel().updateBoard(board);
-        gameFrame.getGamePanel().getInfoPanel().updateInfo(board);
-        gameFrame.getOverlayPanel().updateBoard(board);
+    private static long earliest(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        return Math.min(a, b);
+    }
+
+    /** Só na EDT. */
+    private void showPendingFrame() {
+        ViewFrame frame = pendingFrame.getAndSet(null);
+        if (frame == null) return;
+        boolean justEnded = frame.board().isGameOver() && !shownFrame.board().isGameOver();
+        shownFrame = frame;
+        ActiveRenderer renderer = activeRenderer;
+        if (renderer != null) {
+            BoardSnapshot state = frame.board();
+            gameFrame.showActiveRendering(state.isStarted() && !state.isPaused() && !state.isGameOver());
+        }
+        // No modo ativo a latência é medida (e informada) pelo próprio renderer
+        if (frame.inputNanos() != 0 && (renderer == null || !renderer.isRendering())) {
+            gameFrame.getGamePanel().getBoardPanel().markInput(frame.inputNanos());
+        }
+        gameFrame.getGamePanel().getBoardPanel().updateBoard(frame.board(), frame.lockedDirty());
+        gameFrame.getGamePanel().getInfoPanel().updateInfo(frame.board());
+        gameFrame.getOverlayPanel().updateBoard(frame.board());
+        if (justEnded && inputToFrame.getCount() > 0) {
+            System.out.println("⌨ Tecla → tela: " + inputToFrame.describe());
+            inputToFrame.reset();
+        }
+    }
 
+    /**
+     * Chamado pelo BoardPanel, na EDT, quando termina de desenhar um quadro com tecla nova.
+     * O histograma só é tocado na EDT; o ActiveRenderer tem o seu.
+     */
+    private void onFramePresented(long latencyNanos) {
+        inputToFrame.record(latencyNanos);
+    }
+
+    /** Só na EDT: mostra a última foto inteira, com o tema atual (início e troca de tema). */
+    private void updateView() {
+        BoardSnapshot current = shownFrame.board();
         Theme currentTheme = Theme.AVAILABLE_THEMES[currentThemeIndex];
         gameFrame.getGamePanel().updateTheme(currentTheme);
         gameFrame.getOverlayPanel().updateTheme(currentTheme);
-        gameFrame.repaint();
+        gameFrame.getGamePanel().getBoardPanel().updateBoard(current);
+        gameFrame.getGamePanel().getInfoPanel().updateInfo(current);
+        gameFrame.getOverlayPanel().updateBoard(current);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
         int keycode = e.getKeyCode();
 
-        // Trocar tema
+        // Trocar tema: é só aparência, fica na EDT
         if (keycode == KeyEvent.VK_T) {
             currentThemeIndex = (currentThemeIndex + 1) % Theme.AVAILABLE_THEMES.length;
             updateView();
             return;
         }
 
+        inputs.offer(keycode, true, System.nanoTime());
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        inputs.offer(e.getKeyCode(), false, System.nanoTime());
+    }
+
+    @Override
+    public void focusGained(FocusEvent e) {
+        // nada: as teclas seguras foram soltas quando o foco saiu
+    }
+
+    @Override
+    public void focusLost(FocusEvent e) {
+        // Sem foco os "soltar" não chegam: solta tudo para a peça não ficar deslizando
+        inputs.offer(KeyEvent.VK_UNDEFINED, false, System.nanoTime());
+    }
+
+    /** Um evento de teclado, na thread da simulação, no início do passo. */
+    private void onKey(int keycode, boolean pressed, long nanos) {
+        if (!pressed) {
+            if (keycode == KeyEvent.VK_UNDEFINED) {
+                heldKeys.clear();
+                autoShift.reset();
+            } else {
+                heldKeys.clear(keycode);
+                Input input = toHeldInput(keycode);
+                if (input != null) autoShift.release(input);
+            }
+            return;
+        }
+        if (heldKeys.get(keycode)) return; // auto-repeat do sistema: a repetição é do AutoShift
+        heldKeys.set(keycode);
+
+        inputToStep.record(System.nanoTime() - nanos);
+        pendingInputNanos = earliest(pendingInputNanos, nanos);
+        handleKey(keycode);
+    }
+
+    private static Input toHeldInput(int keycode) {
+        switch (keycode) {
+            case KeyEvent.VK_LEFT: return Input.MOVE_LEFT;
+            case KeyEvent.VK_RIGHT: return Input.MOVE_RIGHT;
+            case KeyEvent.VK_DOWN: return Input.SOFT_DROP;
+            default: return null;
+        }
+    }
+
+    /** Executa uma tecla na thread da simulação. */
+    private void handleKey(int keycode) {
+        changed = true;
+
         // Alternar Ghost Piece
         if (keycode == KeyEvent.VK_G) {
             board.toggleGhostPiece();
-            updateView();
+            return;
+        }
+
+        // Ligar/desligar o bot
+        if (keycode == KeyEvent.VK_A) {
+            toggleAutoplay(!autoplay);
             return;
         }
 
         // 🔈 Alternar som (liga/desliga)
         if (keycode == KeyEvent.VK_S) {
+            // Só o flag muda aqui; parar ou voltar a música fica com a thread do áudio
             SoundManager.toggleSound();
-
-            // Se o som foi reativado e o jogo está ativo, toca novamente a música
-            if (SoundManager.isSoundEnabled() && board.isStarted() && !board.isPaused() && !board.isGameOver()) {
-             SoundManager.playMusic("tetris_theme.wav");
-            }
-
+            events.publishSoundToggled(SoundManager.isSoundEnabled());
             return;
         }
 
         // Iniciar jogo
         if ((!board.isStarted() || board.isGameOver()) && keycode == KeyEvent.VK_ENTER) {
-            if (playerName == null || playerName.trim().isEmpty()) {
-                if (gameFrame.getOverlayPanel() != null) {
-                    gameFrame.getOverlayPanel().requestFocusForName();
-                }
-                return;
-            }
-
-            board.start();
-            if (!timer.isRunning()) timer.start();
-
-            // Reinicia a música sem duplicar
-            SoundManager.stopMusic();
-            SoundManager.playMusic("tetris_theme.wav");
-
-            updateView();
+            if (!requireName()) return;
+            startNewGame();
             return;
         }
 
@@ -151,42 +428,194 @@ public class GameController extends KeyAdapter implements ActionListener {
 
         // Pausar / Retomar
         if (keycode == KeyEvent.VK_P) {
+            autoShift.reset();
             board.togglePause();
-
-            if (board.isPaused()) {
-                SoundManager.stopMusic();
-            } else {
-                SoundManager.playMusic("tetris_theme.wav");
-            }
-
-            updateView();
+            events.publishPaused(board.isPaused());
             return;
         }
 
         if (board.isPaused()) return;
 
+        // Durante um replay ou o autoplay os comandos não vêm do teclado
+        if (replayPlayer != null || autoplay) return;
+
         switch (keycode) {
             case KeyEvent.VK_LEFT:
-                board.moveLeft();
+                autoShift.press(Input.MOVE_LEFT);
                 break;
             case KeyEvent.VK_RIGHT:
-                board.moveRight();
+                autoShift.press(Input.MOVE_RIGHT);
                 break;
             case KeyEvent.VK_DOWN:
-                board.movePieceDown();
+                autoShift.press(Input.SOFT_DROP);
                 break;
             case KeyEvent.VK_UP:
-                board.rotateRight();
+                engine.step(Input.ROTATE_RIGHT);
                 break;
             case KeyEvent.VK_Z:
-                board.rotateLeft();
+                engine.step(Input.ROTATE_LEFT);
                 break;
             case KeyEvent.VK_SPACE:
-                board.dropDown();
+                engine.step(Input.HARD_DROP);
+                break;
+            case KeyEvent.VK_BACK_SPACE:
+                rewindOnePiece();
                 break;
         }
+    }
 
-        updateView();
+    /**
+     * Sem nome não há partida: pede o nome na tela inicial.
+     * @return true se já existe um nome
+     */
+    private boolean requireName() {
+        String name = playerName;
+        if (name == null || name.trim().isEmpty()) {
+            SwingUtilities.invokeLater(() -> {
+                if (gameFrame.getOverlayPanel() != null) {
+                    gameFrame.getOverlayPanel().requestFocusForName();
+                }
+            });
+            return false;
+        }
+        return true;
+    }
+
+    // --- Autoplay ---
+
+    public void setAutoplay(boolean enabled) {
+        loop.post(() -> toggleAutoplay(enabled));
+    }
+
+    private void toggleAutoplay(boolean enabled) {
+        if (enabled && replayPlayer == null) {
+            if (!autoplay) {
+                if (bot == null) {
+                    bot = new BeamSearchBot(board.getWidth(), board.getHeight(), HeuristicWeights.DEFAULT);
+                }
+                autoplay = true;
+                autoShift.reset();
+                autoplayNanos = 0;
+                System.out.println("🤖 Autoplay ligado");
+            }
+        } else if (autoplay) {
+            autoplay = false;
+            reportBotSpeed();
+        }
+    }
+
+    private void playBotMove() {
+        if (!engine.isRunning()) return;
+        Input[] plan = bot.decide(board);
+        if (plan == null) {
+            engine.step(Input.HARD_DROP);
+        } else {
+            for (Input input : plan) {
+                engine.step(input);
+            }
+        }
+        changed = true;
+    }
+
+    private void reportBotSpeed() {
+        System.out.printf("🤖 Autoplay: %d decisões, %.0f decisões/s, tabela: %.1f%% de acertos%n",
+                bot.getDecisions(), bot.decisionsPerSecond(), 100 * bot.getTable().hitRate());
+    }
+
+    private void startNewGame() {
+        history.clear();
+        practiceMode = false;
+        beginSession();
+        engine.start();
+        beginRecording();
+    }
+
+    /** Zera os acumuladores e as estatísticas de jitter no início de uma partida ou replay. */
+    private void beginSession() {
+        gravityNanos = 0;
+        autoplayNanos = 0;
+        gameOverHandled = false;
+        changed = true;
+        autoShift.reset();
+        loop.resetStats();
+        inputToStep.reset();
+        events.publishGameStarted();
+    }
+
+    /**
+     * Volta para o início da peça anterior. A partida passa a ser de treino:
+     * não é gravada no histórico nem em replay.
+     */
+    private void rewindOnePiece() {
+        if (history.size() > 1) {
+            history.pop(); // descarta o início da peça atual
+        }
+        BoardSnapshot previous = history.peek();
+        if (previous == null) return;
+
+        board.restore(previous);
+        practiceMode = true;
+        engine.setRecorder(null);
+        recorder = null;
+    }
+
+    // --- Gravação de replays ---
+
+    private void beginRecording() {
+        replayPlayer = null;
+        recorder = new ReplayRecorder(board);
+        engine.setRecorder(recorder);
+    }
+
+    private Replay finishRecording(String player) {
+        if (recorder == null) return null;
+        Replay replay = recorder.finish(engine, player);
+        engine.setRecorder(null);
+        recorder = null;
+        return replay;
+    }
+
+    // --- Eventos do jogo: o histórico de treino é síncrono, o resto segue para o barramento ---
+
+    @Override
+    public void onPieceSpawned(Shape.Tetrominoe shape) {
+        if (replayPlayer == null) {
+            history.push(board.snapshot());
+        }
+        events.onPieceSpawned(shape);
+    }
+
+    @Override
+    public void onPieceRotated() {
+        events.onPieceRotated();
+    }
+
+    @Override
+    public void onPieceLocked(Shape.Tetrominoe shape) {
+        events.onPieceLocked(shape);
+    }
+
+    @Override
+    public void onLinesCleared(int[] rows, int count) {
+        events.onLinesCleared(rows, count);
+    }
+
+    @Override
+    public void onLevelUp(int level) {
+        events.onLevelUp(level);
+    }
+
+    @Override
+    public void onGameOver(int finalScore, boolean newHighScore) {
+        boolean counts = replayPlayer == null && !practiceMode;
+        if (newHighScore) {
+            if (counts) {
+                recordHighScore = finalScore;
+            } else {
+                board.setHighScore(recordHighScore); // o Board já tinha adotado a pontuação
+            }
+        }
+        events.onGameOver(finalScore, counts && newHighScore);
     }
 
     private int getDelayForLevel() {
@@ -0,0 +1,36 @@
+package com.tetris.db;
+
+import com.tetris.engine.EventSubscriber;
+import com.tetris.engine.GameEvent;
+import com.tetris.replay.Replay;
+import com.tetris.util.HighScoreStore;
+
+/**
+ * Grava o recorde e o histórico de partidas no SQLite a partir dos eventos do jogo,
+ * fora da thread da interface.
+ */
+public class PersistenceSubscriber implements EventSubscriber {
+
+    private boolean tableReady = false;
+
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.type()) {
+            case GAME_OVER:
+                if (event.isNewHighScore()) {
+                    HighScoreStore.save(event.value());
+                }
+                break;
+            case GAME_RECORDED:
+                Replay replay = (Replay) event.attachment();
+                if (!tableReady) {
+                    Database.createTable();
+                    tableReady = true;
+                }
+                Database.saveGame(replay.getPlayerName(), replay.getScore(), replay.getLevel(), replay.getLines());
+                break;
+            default:
+                break;
+        }
+    }
+}
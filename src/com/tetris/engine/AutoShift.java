@@ -0,0 +1,160 @@
+package com.tetris.engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repetição dos movimentos enquanto a tecla está segura, contada em tempo de jogo
+ * (não depende do auto-repeat do sistema operacional).
+ *
+ * Esquerda/direita: move uma vez ao pressionar; depois do DAS (delayed auto shift) repete
+ * a cada ARR (auto repeat rate). ARR = 0 leva a peça direto até a parede. Se as duas
+ * direções estiverem seguras vale a última pressionada; soltando-a, a outra volta a carregar.
+ * Queda suave: desce uma linha ao pressionar e repete a cada intervalo próprio, sem DAS.
+ */
+public class AutoShift {
+
+    public static final int DEFAULT_DAS_MILLIS = 170;
+    public static final int DEFAULT_ARR_MILLIS = 50;
+    public static final int DEFAULT_SOFT_DROP_MILLIS = 50;
+
+    private final GameEngine engine;
+    private long dasNanos;
+    private long arrNanos;
+    private long softDropNanos;
+
+    private boolean leftHeld = false;
+    private boolean rightHeld = false;
+    private boolean softDropHeld = false;
+    private Input direction = null; // direção que está carregando/repetindo
+    private long chargeNanos = 0;
+    private long repeatNanos = 0;
+    private long softDropAccumulator = 0;
+
+    public AutoShift(GameEngine engine) {
+        this(engine, DEFAULT_DAS_MILLIS, DEFAULT_ARR_MILLIS, DEFAULT_SOFT_DROP_MILLIS);
+    }
+
+    public AutoShift(GameEngine engine, int dasMillis, int arrMillis, int softDropMillis) {
+        this.engine = engine;
+        configure(dasMillis, arrMillis, softDropMillis);
+    }
+
+    public void configure(int dasMillis, int arrMillis, int softDropMillis) {
+        if (dasMillis < 0 || arrMillis < 0 || softDropMillis <= 0) {
+            throw new IllegalArgumentException("DAS/ARR inválidos: " + dasMillis + "/" + arrMillis + "/" + softDropMillis);
+        }
+        this.dasNanos = TimeUnit.MILLISECONDS.toNanos(dasMillis);
+        this.arrNanos = TimeUnit.MILLISECONDS.toNanos(arrMillis);
+        this.softDropNanos = TimeUnit.MILLISECONDS.toNanos(softDropMillis);
+    }
+
+    /**
+     * Tecla pressionada: aplica o primeiro movimento na hora.
+     * @return true se o movimento teve efeito
+     */
+    public boolean press(Input input) {
+        switch (input) {
+            case MOVE_LEFT:
+                leftHeld = true;
+                return beginShift(Input.MOVE_LEFT);
+            case MOVE_RIGHT:
+                rightHeld = true;
+                return beginShift(Input.MOVE_RIGHT);
+            case SOFT_DROP:
+                softDropHeld = true;
+                softDropAccumulator = 0;
+                return engine.step(Input.SOFT_DROP);
+            default:
+                return engine.step(input);
+        }
+    }
+
+    public void release(Input input) {
+        switch (input) {
+            case MOVE_LEFT:
+                leftHeld = false;
+                if (direction == Input.MOVE_LEFT) {
+                    direction = rightHeld ? Input.MOVE_RIGHT : null;
+                    chargeNanos = 0;
+                }
+                break;
+            case MOVE_RIGHT:
+                rightHeld = false;
+                if (direction == Input.MOVE_RIGHT) {
+                    direction = leftHeld ? Input.MOVE_LEFT : null;
+                    chargeNanos = 0;
+                }
+                break;
+            case SOFT_DROP:
+                softDropHeld = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** Solta tudo (nova partida, pausa, troca para o bot). */
+    public void reset() {
+        leftHeld = rightHeld = softDropHeld = false;
+        direction = null;
+        chargeNanos = repeatNanos = softDropAccumulator = 0;
+    }
+
+    /**
+     * Avança o tempo das teclas seguras, aplicando as repetições devidas.
+     * @return true se alguma repetição teve efeito
+     */
+    public boolean update(long stepNanos) {
+        boolean moved = false;
+        if (direction != null) {
+            moved = updateShift(stepNanos);
+        }
+        if (softDropHeld) {
+            softDropAccumulator += stepNanos;
+            while (softDropAccumulator >= softDropNanos) {
+                softDropAccumulator -= softDropNanos;
+                moved |= engine.step(Input.SOFT_DROP);
+            }
+        }
+        return moved;
+    }
+
+    private boolean beginShift(Input input) {
+        direction = input;
+        chargeNanos = 0;
+        repeatNanos = 0;
+        return engine.step(input);
+    }
+
+    private boolean updateShift(long stepNanos) {
+        boolean wasCharged = chargeNanos >= dasNanos;
+        chargeNanos = Math.min(chargeNanos + stepNanos, dasNanos + stepNanos);
+        if (chargeNanos < dasNanos) {
+            return false;
+        }
+        if (arrNanos == 0) {
+            boolean moved = false;
+            while (engine.step(direction)) {
+                moved = true;
+            }
+            return moved;
+        }
+        // O primeiro movimento automático acontece quando o DAS termina
+        boolean moved = false;
+        if (!wasCharged) {
+            moved = engine.step(direction);
+            repeatNanos = chargeNanos - dasNanos;
+        } else {
+            repeatNanos += stepNanos;
+        }
+        while (repeatNanos >= arrNanos) {
+            repeatNanos -= arrNanos;
+            if (!engine.step(direction)) {
+                repeatNanos %= arrNanos; // encostou na parede: não acumula atraso
+                break;
+            }
+            moved = true;
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,255 @@
+package com.tetris.engine;
+
+import com.tetris.model.Shape;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Barramento de eventos sem locks, com um único produtor (a thread do jogo) e um buffer
+ * circular de eventos pré-alocados. Cada assinante tem a sua thread e o seu cursor.
+ *
+ * Publicar nunca espera: se um assinante ficar uma volta inteira atrás, ele pula para
+ * o evento mais antigo ainda no buffer e os perdidos entram em {@link #getDropped()}.
+ * Cada slot funciona como um seqlock: o produtor marca o slot como "em escrita" (-1),
+ * preenche os campos e só então grava a sequência; o leitor copia os campos e confere
+ * se a sequência continua a mesma.
+ */
+public class EventBus implements GameListener {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Espera do assinante sem eventos: algumas voltas ativas e depois pausas curtas
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = 500_000;
+
+    private final GameEvent[] slots;
+    private final int mask;
+    private long nextSequence = 0;       // só o produtor escreve
+    private volatile long published = -1; // última sequência publicada
+
+    private final List<Worker> workers = new CopyOnWriteArrayList<>();
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity quantidade de slots; precisa ser potência de 2
+     */
+    public EventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade precisa ser potência de 2: " + capacity);
+        }
+        slots = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Registra um assinante numa thread própria (daemon). Ele recebe os eventos publicados
+     * a partir deste momento.
+     */
+    public void subscribe(String name, EventSubscriber subscriber) {
+        Worker worker = new Worker(name, subscriber, published + 1);
+        workers.add(worker);
+        worker.thread.start();
+    }
+
+    /**
+     * Para as threads dos assinantes depois que cada uma processar o que já foi publicado.
+     */
+    public void shutdown() {
+        for (Worker worker : workers) {
+            worker.running = false;
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Eventos que algum assinante perdeu por ficar para trás, somando todos. */
+    public long getDropped() {
+        long dropped = 0;
+        for (Worker worker : workers) {
+            dropped += worker.dropped;
+        }
+        return dropped;
+    }
+
+    public long getPublished() {
+        return published + 1;
+    }
+
+    // --- Publicação (thread do jogo) ---
+
+    private GameEvent claim(GameEvent.Type type) {
+        GameEvent event = slots[(int) (nextSequence & mask)];
+        event.sequence = -1;
+        VarHandle.storeStoreFence(); // os campos abaixo não podem ficar visíveis antes do -1
+        event.type = type;
+        event.timestamp = System.nanoTime();
+        event.shape = null;
+        event.count = 0;
+        event.value = 0;
+        event.flag = false;
+        event.attachment = null;
+        return event;
+    }
+
+    private void publish(GameEvent event) {
+        long sequence = nextSequence++;
+        event.sequence = sequence; // escrita volatile: libera os campos para os leitores
+        published = sequence;
+    }
+
+    public void publishMenuShown() {
+        publish(claim(GameEvent.Type.MENU_SHOWN));
+    }
+
+    public void publishGameStarted() {
+        publish(claim(GameEvent.Type.GAME_STARTED));
+    }
+
+    public void publishPaused(boolean paused) {
+        publish(claim(paused ? GameEvent.Type.GAME_PAUSED : GameEvent.Type.GAME_RESUMED));
+    }
+
+    public void publishSoundToggled(boolean enabled) {
+        GameEvent event = claim(GameEvent.Type.SOUND_TOGGLED);
+        event.flag = enabled;
+        publish(event);
+    }
+
+    /**
+     * Anuncia uma partida válida já encerrada, para ser persistida.
+     * @param replay a gravação completa da partida (imutável)
+     */
+    public void publishGameRecorded(Object replay) {
+        GameEvent event = claim(GameEvent.Type.GAME_RECORDED);
+        event.attachment = replay;
+        publish(event);
+    }
+
+    @Override
+    public void onPieceSpawned(Shape.Tetrominoe shape) {
+        GameEvent event = claim(GameEvent.Type.PIECE_SPAWNED);
+        event.shape = shape;
+        publish(event);
+    }
+
+    @Override
+    public void onPieceRotated() {
+        publish(claim(GameEvent.Type.PIECE_ROTATED));
+    }
+
+    @Override
+    public void onPieceLocked(Shape.Tetrominoe shape) {
+        GameEvent event = claim(GameEvent.Type.PIECE_LOCKED);
+        event.shape = shape;
+        publish(event);
+    }
+
+    @Override
+    public void onLinesCleared(int[] rows, int count) {
+        GameEvent event = claim(GameEvent.Type.LINES_CLEARED);
+        event.count = count;
+        System.arraycopy(rows, 0, event.rows, 0, count);
+        publish(event);
+    }
+
+    @Override
+    public void onLevelUp(int level) {
+        GameEvent event = claim(GameEvent.Type.LEVEL_UP);
+        event.value = level;
+        publish(event);
+    }
+
+    @Override
+    public void onGameOver(int finalScore, boolean newHighScore) {
+        GameEvent event = claim(GameEvent.Type.GAME_OVER);
+        event.value = finalScore;
+        event.flag = newHighScore;
+        publish(event);
+    }
+
+    // --- Consumo (uma thread por assinante) ---
+
+    private final class Worker implements Runnable {
+
+        final EventSubscriber subscriber;
+        final Thread thread;
+        final GameEvent local = new GameEvent();
+        volatile boolean running = true;
+        volatile long dropped = 0;
+        long next;
+
+        Worker(String name, EventSubscriber subscriber, long first) {
+            this.subscriber = subscriber;
+            this.next = first;
+            this.thread = new Thread(this, "eventos-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running || next <= published) {
+                if (next > published) {
+                    if (++idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    continue;
+                }
+                idle = 0;
+                if (read(next)) {
+                    deliver();
+                    next++;
+                }
+            }
+        }
+
+        /**
+         * Copia o evento 'sequence' para o buffer local.
+         * @return false se o slot já foi sobrescrito (o cursor é adiantado) ou ainda está em escrita
+         */
+        private boolean read(long sequence) {
+            GameEvent slot = slots[(int) (sequence & mask)];
+            long before = slot.sequence;
+            if (before == sequence) {
+                local.copyFrom(slot);
+                VarHandle.loadLoadFence(); // a cópia precisa terminar antes da segunda leitura
+                if (slot.sequence == sequence) {
+                    return true;
+                }
+            } else if (before != -1 && before < sequence) {
+                return false; // ainda não publicado neste slot
+            }
+            // O produtor deu a volta: pula para o evento mais antigo que ainda está no buffer
+            long oldest = Math.max(sequence + 1, published - mask);
+            dropped += oldest - sequence;
+            next = oldest;
+            return false;
+        }
+
+        private void deliver() {
+            try {
+                subscriber.onEvent(local);
+            } catch (RuntimeException e) {
+                // Um assinante com defeito não pode derrubar os outros nem o jogo
+                System.err.println("Erro no assinante " + thread.getName() + ": " + e);
+            }
+        }
+    }
+}
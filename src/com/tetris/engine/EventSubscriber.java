@@ -0,0 +1,11 @@
+package com.tetris.engine;
+
+/**
+ * Consumidor de eventos do {@link EventBus}. Cada assinante roda na sua própria thread,
+ * então pode fazer I/O (áudio, banco, arquivos) sem atrasar a lógica do jogo.
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    void onEvent(GameEvent event);
+}
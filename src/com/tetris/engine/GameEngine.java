@@ -0,0 +1,99 @@
+package com.tetris.engine;
+
+import com.tetris.model.Board;
+import com.tetris.replay.ReplayRecorder;
+
+/**
+ * Núcleo da simulação, sem dependências de Swing, áudio ou arquivos.
+ * Recebe comandos via {@link #step(Input)} e a gravidade via {@link #tick()},
+ * e informa o resultado pelo valor de retorno e pelos eventos do {@link GameListener} do Board.
+ * O GameController (Swing) é apenas um dos clientes possíveis.
+ */
+public class GameEngine {
+
+    private final Board board;
+    private long tickCount = 0;
+    private long pieceCount = 0;
+    private ReplayRecorder recorder;
+
+    public GameEngine(Board board) {
+        this.board = board;
+    }
+
+    public void start() {
+        tickCount = 0;
+        pieceCount = 0;
+        board.start();
+    }
+
+    /** Inicia uma partida reproduzível: mesma semente, mesma sequência de peças. */
+    public void start(long seed) {
+        tickCount = 0;
+        pieceCount = 0;
+        board.start(seed);
+    }
+
+    /**
+     * Aplica um comando à peça atual.
+     * @return true se o comando teve efeito (a peça se moveu, girou ou travou).
+     */
+    public boolean step(Input input) {
+        if (!isRunning()) {
+            return false;
+        }
+        if (recorder != null) {
+            recorder.record(tickCount, input);
+        }
+
+        switch (input) {
+            case MOVE_LEFT:
+                return board.moveLeft();
+            case MOVE_RIGHT:
+                return board.moveRight();
+            case ROTATE_LEFT:
+                return board.rotateLeft();
+            case ROTATE_RIGHT:
+                return board.rotateRight();
+            case SOFT_DROP:
+                if (board.movePieceDown()) pieceCount++;
+                return true;
+            case HARD_DROP:
+                board.dropDown();
+                pieceCount++;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Um passo de gravidade: desce a peça uma linha.
+     * @return true se a peça travou neste tick.
+     */
+    public boolean tick() {
+        if (!isRunning()) {
+            return false;
+        }
+        tickCount++;
+        if (board.movePieceDown()) {
+            pieceCount++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isRunning() {
+        return board.isStarted() && !board.isPaused() && !board.isGameOver();
+    }
+
+    /**
+     * Passa a gravar cada comando aceito (null desliga a gravação).
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public Board getBoard() { return board; }
+    public long getTickCount() { return tickCount; }
+    public long getPieceCount() { return pieceCount; }
+}
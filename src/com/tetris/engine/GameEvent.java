@@ -0,0 +1,77 @@
+package com.tetris.engine;
+
+import com.tetris.model.Shape;
+
+/**
+ * Um evento do jogo dentro do {@link EventBus}.
+ * As instâncias são pré-alocadas e reaproveitadas: o assinante recebe uma cópia só dele,
+ * válida até o próximo evento, e não deve guardá-la.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        /** Tela inicial exibida: a música do menu começa. */
+        MENU_SHOWN,
+        GAME_STARTED,
+        GAME_PAUSED,
+        GAME_RESUMED,
+        PIECE_SPAWNED,
+        PIECE_ROTATED,
+        PIECE_LOCKED,
+        LINES_CLEARED,
+        LEVEL_UP,
+        GAME_OVER,
+        /** Som ligado ou desligado pelo jogador; {@link #isSoundEnabled()} diz qual. */
+        SOUND_TOGGLED,
+        /** Partida válida terminada; {@link #attachment()} é o {@code Replay} dela. */
+        GAME_RECORDED
+    }
+
+    // Sequência publicada neste slot; -1 enquanto o produtor está escrevendo (ver EventBus)
+    volatile long sequence = -1;
+
+    Type type;
+    long timestamp;
+    Shape.Tetrominoe shape;
+    int count;
+    int value;
+    boolean flag;
+    final int[] rows = new int[4];
+    Object attachment;
+
+    void copyFrom(GameEvent other) {
+        type = other.type;
+        timestamp = other.timestamp;
+        shape = other.shape;
+        count = other.count;
+        value = other.value;
+        flag = other.flag;
+        System.arraycopy(other.rows, 0, rows, 0, rows.length);
+        attachment = other.attachment;
+    }
+
+    public Type type() { return type; }
+
+    /** Instante da publicação (System.nanoTime). */
+    public long timestamp() { return timestamp; }
+
+    /** Forma da peça em PIECE_SPAWNED e PIECE_LOCKED. */
+    public Shape.Tetrominoe shape() { return shape; }
+
+    /** Linhas removidas em LINES_CLEARED (1 a 4). */
+    public int count() { return count; }
+
+    /** Índice da i-ésima linha removida em LINES_CLEARED. */
+    public int row(int i) { return rows[i]; }
+
+    /** Novo nível em LEVEL_UP; pontuação final em GAME_OVER. */
+    public int value() { return value; }
+
+    /** Em GAME_OVER: true se a pontuação é um novo recorde. */
+    public boolean isNewHighScore() { return flag; }
+
+    /** Em SOUND_TOGGLED: true se o som acabou de ser ligado. */
+    public boolean isSoundEnabled() { return flag; }
+
+    public Object attachment() { return attachment; }
+}
@@ -0,0 +1,32 @@
+package com.tetris.engine;
+
+import com.tetris.model.Shape;
+
+/**
+ * Recebe os eventos do jogo (peça gerada, travada, linhas, nível, fim de jogo).
+ * Todos os métodos têm implementação vazia, então cada cliente sobrescreve só o que precisa.
+ * As chamadas acontecem na mesma thread que está executando a lógica do Board.
+ */
+public interface GameListener {
+
+    /** Listener que ignora todos os eventos. */
+    GameListener NONE = new GameListener() { };
+
+    default void onPieceSpawned(Shape.Tetrominoe shape) { }
+
+    default void onPieceRotated() { }
+
+    default void onPieceLocked(Shape.Tetrominoe shape) { }
+
+    /**
+     * Linhas completas removidas após uma peça travar.
+     * @param rows índices das linhas removidas (antes da compactação), em ordem crescente;
+     *             o array é reaproveitado pelo Board e só vale durante a chamada
+     * @param count quantas posições de 'rows' são válidas (1 a 4)
+     */
+    default void onLinesCleared(int[] rows, int count) { }
+
+    default void onLevelUp(int level) { }
+
+    default void onGameOver(int finalScore, boolean newHighScore) { }
+}
@@ -0,0 +1,13 @@
+package com.tetris.engine;
+
+/**
+ * Comandos que o jogador (ou um bot) pode enviar ao {@link GameEngine}.
+ */
+public enum Input {
+    MOVE_LEFT,
+    MOVE_RIGHT,
+    ROTATE_LEFT,
+    ROTATE_RIGHT,
+    SOFT_DROP,
+    HARD_DROP
+}
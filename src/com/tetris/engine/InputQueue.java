@@ -0,0 +1,91 @@
+package com.tetris.engine;
+
+/**
+ * Fila sem locks de eventos de teclado com horário de chegada ({@link System#nanoTime()}).
+ * Tem um único produtor (a Event Dispatch Thread) e um único consumidor (a thread da
+ * simulação, que esvazia a fila no início de cada passo).
+ *
+ * Os eventos ficam em arrays pré-alocados, então enfileirar não aloca nada. Se a simulação
+ * parar de consumir e a fila encher, o evento novo é descartado e contado em {@link #getDropped()}.
+ */
+public class InputQueue {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Recebe os eventos em ordem de chegada.
+     */
+    public interface Handler {
+        void onKey(int keyCode, boolean pressed, long nanos);
+    }
+
+    private final int[] keyCodes;
+    private final boolean[] pressed;
+    private final long[] timestamps;
+    private final int mask;
+
+    private volatile long head = 0; // próxima posição a escrever; só o produtor altera
+    private volatile long tail = 0; // próxima posição a ler; só o consumidor altera
+    private long cachedTail = 0;    // cópia do produtor, para não ler o volatile a cada evento
+    private volatile long dropped = 0;
+
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity quantidade de eventos; precisa ser potência de 2
+     */
+    public InputQueue(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade precisa ser potência de 2: " + capacity);
+        }
+        keyCodes = new int[capacity];
+        pressed = new boolean[capacity];
+        timestamps = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Enfileira um evento. Só pode ser chamado pelo produtor.
+     * @return false se a fila estava cheia e o evento foi descartado
+     */
+    public boolean offer(int keyCode, boolean isPressed, long nanos) {
+        long h = head;
+        if (h - cachedTail > mask) {
+            cachedTail = tail;
+            if (h - cachedTail > mask) {
+                dropped++;
+                return false;
+            }
+        }
+        int i = (int) (h & mask);
+        keyCodes[i] = keyCode;
+        pressed[i] = isPressed;
+        timestamps[i] = nanos;
+        head = h + 1; // escrita volátil: publica os campos acima
+        return true;
+    }
+
+    /**
+     * Entrega ao handler todos os eventos já publicados. Só pode ser chamado pelo consumidor.
+     * @return quantidade de eventos entregues
+     */
+    public int drain(Handler handler) {
+        long t = tail;
+        long h = head;
+        int n = 0;
+        while (t < h) {
+            int i = (int) (t & mask);
+            handler.onKey(keyCodes[i], pressed[i], timestamps[i]);
+            t++;
+            n++;
+        }
+        tail = t;
+        return n;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
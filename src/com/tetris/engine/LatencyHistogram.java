@@ -0,0 +1,71 @@
+package com.tetris.engine;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latências com faixas de largura fixa (o que passar da última faixa cai nela).
+ * Tem um único escritor; os valores são consistentes quando lidos pela mesma thread.
+ */
+public class LatencyHistogram {
+
+    private final long bucketNanos;
+    private final long[] buckets;
+    private long count = 0;
+    private long sumNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * @param bucketNanos largura de cada faixa
+     * @param bucketCount quantidade de faixas; o alcance é bucketNanos * bucketCount
+     */
+    public LatencyHistogram(long bucketNanos, int bucketCount) {
+        this.bucketNanos = bucketNanos;
+        this.buckets = new long[bucketCount];
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        count++;
+        sumNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        buckets[(int) Math.min(buckets.length - 1, nanos / bucketNanos)]++;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        sumNanos = 0;
+        maxNanos = 0;
+    }
+
+    public long getCount() { return count; }
+    public long getMaxNanos() { return maxNanos; }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) sumNanos / count;
+    }
+
+    /**
+     * Valor abaixo do qual ficam {@code percentile}% das amostras (limite superior da faixa).
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) return 0;
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min(maxNanos, (i + 1) * bucketNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /** Resumo de uma linha, em microssegundos. */
+    public String describe() {
+        return String.format("%d amostras, média %.1f µs, p99 %.0f µs, máx %.0f µs",
+                count, getMeanNanos() / 1e3, getPercentileNanos(99) / 1e3, maxNanos / 1e3);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tetris.engine;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Conta os eventos de cada partida e mede a latência entre a publicação e a entrega.
+ * Imprime um resumo quando a partida termina.
+ */
+public class MetricsSubscriber implements EventSubscriber {
+
+    private final EventBus bus;
+    private final Map<GameEvent.Type, Long> counts = new EnumMap<>(GameEvent.Type.class);
+    private long events = 0;
+    private long totalLatency = 0;
+    private long maxLatency = 0;
+    private int lines = 0;
+
+    public MetricsSubscriber(EventBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event.type() == GameEvent.Type.GAME_STARTED) {
+            reset();
+        }
+        long latency = System.nanoTime() - event.timestamp();
+        events++;
+        totalLatency += latency;
+        maxLatency = Math.max(maxLatency, latency);
+        counts.merge(event.type(), 1L, Long::sum);
+
+        if (event.type() == GameEvent.Type.LINES_CLEARED) {
+            lines += event.count();
+        } else if (event.type() == GameEvent.Type.GAME_OVER) {
+            report();
+        }
+    }
+
+    private void report() {
+        System.out.printf("📊 Eventos: %d (peças=%d, linhas=%d em %d limpezas), latência média=%.1f µs, máx=%.1f µs, perdidos=%d%n",
+                events, counts.getOrDefault(GameEvent.Type.PIECE_LOCKED, 0L), lines,
+                counts.getOrDefault(GameEvent.Type.LINES_CLEARED, 0L),
+                events == 0 ? 0 : totalLatency / 1e3 / events, maxLatency / 1e3, bus.getDropped());
+    }
+
+    private void reset() {
+        counts.clear();
+        events = 0;
+        totalLatency = 0;
+        maxLatency = 0;
+        lines = 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tetris.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ritmo por prazos em nanossegundos, para threads que fazem algo a cada período fixo
+ * (quadros, passos). O prazo n é início + n * período; quem passou de um ou mais prazos
+ * seguintes os perde e o próximo prazo é o primeiro ainda no futuro, sem "correr atrás".
+ *
+ * A espera dorme com parkNanos até perto do prazo e termina em espera ativa: parkNanos
+ * costuma acordar com ~50-100 µs de atraso. Uma instância pertence a uma só thread.
+ */
+public final class Pacer {
+
+    /** Abaixo disso a espera é ativa. */
+    public static final long SPIN_THRESHOLD_NANOS = 200_000;
+
+    private final long periodNanos;
+    private long deadline;
+
+    public Pacer(long periodNanos) {
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Período inválido: " + periodNanos);
+        }
+        this.periodNanos = periodNanos;
+    }
+
+    /** Recomeça a contagem dos prazos a partir de 'startNanos' (System.nanoTime). */
+    public void start(long startNanos) {
+        deadline = startNanos;
+    }
+
+    /**
+     * Avança para o próximo prazo e espera por ele.
+     * @return quantos prazos já tinham passado e foram pulados
+     */
+    public long awaitNext() {
+        deadline += periodNanos;
+        long now = System.nanoTime();
+        long missed = 0;
+        if (now > deadline) {
+            missed = (now - deadline) / periodNanos + 1;
+            deadline += missed * periodNanos;
+        }
+        waitUntil(deadline);
+        return missed;
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /** Espera até o instante 'deadline' (System.nanoTime). */
+    public static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
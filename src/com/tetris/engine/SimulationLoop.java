@@ -0,0 +1,147 @@
+package com.tetris.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Laço de simulação com passo fixo, numa thread própria (fora da Event Dispatch Thread).
+ *
+ * Cada passo representa exatamente {@link #getStepNanos()} de tempo de jogo. Um acumulador
+ * baseado em {@link System#nanoTime()} decide quantos passos executar: se a thread atrasar,
+ * os passos devidos são executados em sequência (até {@link #MAX_CATCH_UP}); acima disso o
+ * atraso é descartado e contado em {@link #getLostSteps()}, para o jogo não "disparar".
+ *
+ * Outras threads não mexem no estado do jogo: elas enfileiram comandos com {@link #post},
+ * que são executados na thread da simulação no início do próximo passo.
+ */
+public class SimulationLoop {
+
+    public static final int DEFAULT_HZ = 120;
+    public static final int MIN_HZ = 30;
+    public static final int MAX_HZ = 1000;
+    public static final int MAX_CATCH_UP = 8;
+
+    // Atraso de cada passo em relação ao horário ideal, em faixas de 10 µs até 100 ms
+    private static final long JITTER_BUCKET_NANOS = 10_000;
+    private static final int JITTER_BUCKETS = 10_000;
+
+    /**
+     * O que é feito a cada passo.
+     */
+    public interface Step {
+        /**
+         * @param stepNanos tempo de jogo que o passo representa (sempre o mesmo)
+         */
+        void step(long stepNanos);
+    }
+
+    private final int hz;
+    private final long stepNanos;
+    private final Step step;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = false;
+
+    // Estatísticas de jitter: escritas só pela thread da simulação
+    private final LatencyHistogram jitter = new LatencyHistogram(JITTER_BUCKET_NANOS, JITTER_BUCKETS);
+    private long lostSteps = 0;
+
+    public SimulationLoop(int hz, Step step) {
+        if (hz < MIN_HZ || hz > MAX_HZ) {
+            throw new IllegalArgumentException("Frequência fora de " + MIN_HZ + ".." + MAX_HZ + " Hz: " + hz);
+        }
+        this.hz = hz;
+        this.stepNanos = TimeUnit.SECONDS.toNanos(1) / hz;
+        this.step = step;
+        this.thread = new Thread(this::run, "simulacao");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Para o laço e espera a thread terminar o passo em andamento.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Enfileira um comando para a thread da simulação. Pode ser chamado de qualquer thread.
+     */
+    public void post(Runnable command) {
+        commands.add(command);
+    }
+
+    public boolean isSimulationThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            if (accumulator < stepNanos) {
+                Pacer.waitUntil(now + stepNanos - accumulator);
+                continue;
+            }
+
+            int executed = 0;
+            while (accumulator >= stepNanos && executed < MAX_CATCH_UP) {
+                // O passo deveria ter começado "accumulator - stepNanos" atrás
+                jitter.record(accumulator - stepNanos);
+                drainCommands();
+                step.step(stepNanos);
+                accumulator -= stepNanos;
+                executed++;
+            }
+            if (accumulator >= stepNanos) {
+                lostSteps += accumulator / stepNanos;
+                accumulator %= stepNanos;
+            }
+        }
+        drainCommands();
+    }
+
+    private void drainCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    // --- Estatísticas (consistentes quando lidas pela própria thread ou depois de stop()) ---
+
+    /** Zera as estatísticas de jitter; só pode ser chamado na thread da simulação. */
+    public void resetStats() {
+        jitter.reset();
+        lostSteps = 0;
+    }
+
+    public int getHz() { return hz; }
+    public long getStepNanos() { return stepNanos; }
+    public long getLostSteps() { return lostSteps; }
+    public LatencyHistogram getJitter() { return jitter; }
+
+    /** Resumo de uma linha para o console. */
+    public String describeJitter() {
+        return hz + " Hz, jitter: " + jitter.describe() + ", " + lostSteps + " passos perdidos";
+    }
+}
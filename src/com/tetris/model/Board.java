@@ -1,23 +1,31 @@
 package com.tetris.model;
 
-import com.tetris.util.SoundManager;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import com.tetris.engine.GameListener;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Representa o estado completo do tabuleiro de jogo.
  * Contém a lógica principal, pontuação e estado das peças.
+ * Não depende de Swing, áudio ou arquivos: os efeitos colaterais são avisados
+ * a um {@link GameListener} e cabe a quem o registrou tocar sons ou salvar dados.
  */
-public class Board {
+public class Board implements BoardState {
 
     // --- Constantes do Jogo ---
-    public static final int BOARD_WIDTH = 10;
-    public static final int BOARD_HEIGHT = 20;
+    public static final int DEFAULT_WIDTH = 10;
+    public static final int DEFAULT_HEIGHT = 20;
+    // Cada linha é um long, então a largura vai até 64; abaixo de 4 as peças não nascem
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_WIDTH = 64;
+    public static final int MAX_HEIGHT = 65_536;
     private static final int LEVEL_UP_LINES = 10;
-    private static final String HIGHSCORE_FILE = "highscore.txt";
+    private static final Shape.Tetrominoe[] SHAPES = Shape.Tetrominoe.values();
+
+    // --- Dimensões (fixas por instância) ---
+    private final int width;
+    private final int height;
+    private final long fullRowMask;
 
     // --- Estado do Jogo ---
     private boolean isStarted = false;
@@ -32,18 +40,80 @@ public class Board {
 
     private Piece currentPiece;
     private Piece nextPiece;
-    private Shape.Tetrominoe[] boardGrid;
+    private GameListener listener = GameListener.NONE;
+    private PieceGenerator generator;
+
+    // Bitboard: um bit por coluna em cada linha (bit x = coluna x ocupada).
+    // Mantido em sincronia com 'cells', que guarda o ordinal da forma de cada célula.
+    private final long[] rowMasks;
+    private final byte[] cells;
+
+    // Altura de cada coluna (linha ocupada mais alta + 1), atualizada ao travar peças e limpar linhas
+    private final int[] columnHeights;
+    private int stackHeight = 0; // maior altura entre as colunas
+
+    // Índices das linhas removidas na última limpeza (reaproveitado, no máximo 4 por peça)
+    private final int[] clearedRows = new int[4];
+
+    // Células travadas que mudaram desde a última coleta (travamento, limpeza, reinício)
+    private final DirtyRegion dirty = new DirtyRegion();
+
+    // Posição da peça fantasma, recalculada só quando a peça se move, gira ou é trocada
+    private int ghostY;
+    private boolean ghostValid = false;
 
     public Board() {
-        boardGrid = new Shape.Tetrominoe[BOARD_WIDTH * BOARD_HEIGHT];
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT, PieceGenerator.Kind.UNIFORM);
+    }
+
+    public Board(PieceGenerator.Kind generatorKind) {
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT, generatorKind);
+    }
+
+    public Board(int width, int height) {
+        this(width, height, PieceGenerator.Kind.UNIFORM);
+    }
+
+    public Board(int width, int height, PieceGenerator.Kind generatorKind) {
+        if (width < MIN_SIZE || width > MAX_WIDTH || height < MIN_SIZE || height > MAX_HEIGHT) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + width + "x" + height
+                    + " (largura " + MIN_SIZE + ".." + MAX_WIDTH + ", altura " + MIN_SIZE + ".." + MAX_HEIGHT + ")");
+        }
+        this.width = width;
+        this.height = height;
+        this.fullRowMask = width == 64 ? -1L : (1L << width) - 1;
+        generator = PieceGenerator.create(generatorKind, 0L);
+        rowMasks = new long[height];
+        cells = new byte[width * height];
+        columnHeights = new int[width];
         currentPiece = new Piece();
         nextPiece = new Piece();
-        loadHighScore();
         clearBoard();
     }
 
+    /**
+     * Troca a estratégia de geração de peças (vale a partir do próximo start).
+     */
+    public void setGeneratorKind(PieceGenerator.Kind kind) {
+        if (generator.kind() != kind) {
+            generator = PieceGenerator.create(kind, generator.getSeed());
+        }
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener == null ? GameListener.NONE : listener;
+    }
+
     // Inicia o jogo (sem tocar música — controlado pelo GameController)
     public void start() {
+        start(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Inicia o jogo com uma semente fixa: a mesma semente gera a mesma sequência de peças.
+     */
+    public void start(long seed) {
+        generator.reset(seed);
         isStarted = true;
         isGameOver = false;
         isPaused = false;
@@ -51,55 +121,103 @@ public class Board {
         level = 1;
         linesCleared = 0;
         clearBoard();
-        nextPiece.setRandomShape();
+        nextPiece.setShape(generator.next());
         newPiece();
     }
 
-    private void clearBoard() {
-        for (int i = 0; i < BOARD_WIDTH * BOARD_HEIGHT; i++) {
-            boardGrid[i] = Shape.Tetrominoe.NoShape;
+    // --- Snapshots ---
+
+    /**
+     * Captura o estado atual para restaurar depois (desfazer, busca de bots, replays).
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(rowMasks.clone(), cells.clone(), columnHeights.clone(), stackHeight,
+                isStarted, isPaused, isGameOver, isGhostPieceEnabled,
+                score, highScore, level, linesCleared,
+                currentPiece.getOrientation(), currentPiece.getX(), currentPiece.getY(),
+                isStarted && !isGameOver ? getGhostPieceY() : currentPiece.getY(),
+                nextPiece.getShape(), generator.copy());
+    }
+
+    /**
+     * Volta ao estado de um snapshot tirado deste Board (ou de outro com as mesmas dimensões).
+     * O snapshot continua válido e pode ser restaurado várias vezes.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot.columnHeights.length != width || snapshot.rowMasks.length != height) {
+            throw new IllegalArgumentException("Snapshot de um tabuleiro " + snapshot.columnHeights.length + "x"
+                    + snapshot.rowMasks.length + " não cabe num " + width + "x" + height);
         }
+        System.arraycopy(snapshot.rowMasks, 0, rowMasks, 0, rowMasks.length);
+        System.arraycopy(snapshot.cells, 0, cells, 0, cells.length);
+        System.arraycopy(snapshot.columnHeights, 0, columnHeights, 0, columnHeights.length);
+        stackHeight = snapshot.stackHeight;
+        dirty.add(0, 0, width - 1, height - 1);
+
+        isStarted = snapshot.started;
+        isPaused = snapshot.paused;
+        isGameOver = snapshot.gameOver;
+        isGhostPieceEnabled = snapshot.ghostEnabled;
+        score = snapshot.score;
+        highScore = Math.max(highScore, snapshot.highScore);
+        level = snapshot.level;
+        linesCleared = snapshot.linesCleared;
+
+        currentPiece.setOrientation(snapshot.currentOrientation);
+        currentPiece.setX(snapshot.currentX);
+        currentPiece.setY(snapshot.currentY);
+        nextPiece.setShape(snapshot.nextShape);
+
+        if (generator.kind() != snapshot.generator.kind()) {
+            generator = snapshot.generator.copy();
+        } else {
+            generator.copyFrom(snapshot.generator);
+        }
+        ghostValid = false;
+    }
+
+    private void clearBoard() {
+        dirty.add(0, 0, width - 1, stackHeight - 1);
+        Arrays.fill(rowMasks, 0L);
+        Arrays.fill(cells, (byte) Shape.Tetrominoe.NoShape.ordinal());
+        Arrays.fill(columnHeights, 0);
+        stackHeight = 0;
     }
 
     private void newPiece() {
+        // Reaproveita os dois objetos Piece: a peça atual vira a próxima
+        Piece spent = currentPiece;
         currentPiece = nextPiece;
-        currentPiece.setX(BOARD_WIDTH / 2);
-        currentPiece.setY(BOARD_HEIGHT - 1 + currentPiece.minY());
+        currentPiece.setX(getSpawnX());
+        currentPiece.setY(getSpawnY(currentPiece.getOrientation()));
 
-        nextPiece = new Piece();
-        nextPiece.setRandomShape();
+        nextPiece = spent;
+        nextPiece.setShape(generator.next());
+        ghostValid = false;
 
-        if (!tryMove(currentPiece, currentPiece.getX(), currentPiece.getY())) {
+        if (!canMoveTo(currentPiece.getOrientation(), currentPiece.getX(), currentPiece.getY())) {
             isGameOver = true;
             currentPiece.setShape(Shape.Tetrominoe.NoShape);
 
-            // 🔊 Som de fim de jogo (apenas efeito)
-            SoundManager.playSound("game_over.wav");
-
-            if (score > highScore) {
+            boolean newRecord = score > highScore;
+            if (newRecord) {
                 highScore = score;
-                saveHighScore();
             }
+            listener.onGameOver(score, newRecord);
+        } else {
+            listener.onPieceSpawned(currentPiece.getShape());
         }
     }
 
-    private boolean tryMove(Piece piece, int newX, int newY) {
-        for (int i = 0; i < 4; i++) {
-            int x = newX + piece.x(i);
-            int y = newY - piece.y(i);
-
-            if (x < 0 || x >= BOARD_WIDTH || y < 0) {
-                return false;
-            }
-
-            if (y < BOARD_HEIGHT && shapeAt(x, y) != Shape.Tetrominoe.NoShape) {
-                return false;
-            }
+    private boolean tryMove(Orientation orientation, int newX, int newY) {
+        if (!canMoveTo(orientation, newX, newY)) {
+            return false;
         }
 
-        currentPiece = piece;
+        currentPiece.setOrientation(orientation);
         currentPiece.setX(newX);
         currentPiece.setY(newY);
+        ghostValid = false;
         return true;
     }
 
@@ -107,83 +225,126 @@ public class Board {
         for (int i = 0; i < 4; i++) {
             int x = currentPiece.getX() + currentPiece.x(i);
             int y = currentPiece.getY() - currentPiece.y(i);
-            if (y >= 0 && y < BOARD_HEIGHT) {
-                boardGrid[y * BOARD_WIDTH + x] = currentPiece.getShape();
+            if (y >= 0 && y < height) {
+                rowMasks[y] |= 1L << x;
+                cells[y * width + x] = (byte) currentPiece.getShape().ordinal();
+                dirty.add(x, y, x, y);
+                if (y + 1 > columnHeights[x]) {
+                    columnHeights[x] = y + 1;
+                    stackHeight = Math.max(stackHeight, y + 1);
+                }
             }
         }
-        removeFullLines();
+        listener.onPieceLocked(currentPiece.getShape());
+
+        // Só as linhas tocadas pela peça travada podem ter ficado completas
+        Orientation orientation = currentPiece.getOrientation();
+        int bottom = currentPiece.getY() - orientation.maxY();
+        int top = Math.min(currentPiece.getY() - orientation.minY(), height - 1);
+        removeFullLines(bottom, top);
 
         if (!isGameOver) {
             newPiece();
         }
     }
 
-    private void removeFullLines() {
+    /**
+     * Remove as linhas completas entre 'bottom' e 'top' numa única passada:
+     * cada linha que sobrevive acima da primeira removida desce uma só vez,
+     * direto para a posição final, e a varredura para no topo da pilha.
+     */
+    private void removeFullLines(int bottom, int top) {
         int numFullLines = 0;
-
-        for (int i = BOARD_HEIGHT - 1; i >= 0; i--) {
-            boolean lineIsFull = true;
-            for (int j = 0; j < BOARD_WIDTH; j++) {
-                if (shapeAt(j, i) == Shape.Tetrominoe.NoShape) {
-                    lineIsFull = false;
-                    break;
-                }
+        for (int y = bottom; y <= top; y++) {
+            if (rowMasks[y] == fullRowMask) {
+                clearedRows[numFullLines++] = y;
             }
+        }
+        if (numFullLines == 0) {
+            return;
+        }
 
-            if (lineIsFull) {
-                numFullLines++;
-                for (int k = i; k < BOARD_HEIGHT - 1; k++) {
-                    for (int j = 0; j < BOARD_WIDTH; j++) {
-                        boardGrid[k * BOARD_WIDTH + j] = shapeAt(j, k + 1);
-                    }
-                }
+        int dst = clearedRows[0];
+        int next = 0;
+        for (int src = clearedRows[0]; src < stackHeight; src++) {
+            if (next < numFullLines && clearedRows[next] == src) {
+                next++;
+                continue;
             }
+            rowMasks[dst] = rowMasks[src];
+            System.arraycopy(cells, src * width, cells, dst * width, width);
+            dst++;
         }
+        // Tudo da primeira linha removida até o antigo topo da pilha mudou
+        dirty.add(0, clearedRows[0], width - 1, stackHeight - 1);
 
-        if (numFullLines > 0) {
-            updateScore(numFullLines);
-            linesCleared += numFullLines;
+        // As linhas que sobraram no topo da pilha ficam vazias
+        Arrays.fill(rowMasks, dst, stackHeight, 0L);
+        Arrays.fill(cells, dst * width, stackHeight * width, (byte) Shape.Tetrominoe.NoShape.ordinal());
 
-            // 🔊 Som de linha completa
-            SoundManager.playSound("line_clear.wav");
+        recomputeColumnHeights();
+        updateScore(numFullLines);
+        linesCleared += numFullLines;
+        listener.onLinesCleared(clearedRows, numFullLines);
 
-            if (linesCleared / LEVEL_UP_LINES >= level) {
-                level++;
-            }
+        if (linesCleared / LEVEL_UP_LINES >= level) {
+            level++;
+            listener.onLevelUp(level);
         }
     }
 
+    /**
+     * Acrescenta a {@code into} as células travadas que mudaram desde a última coleta e zera
+     * o registro. A peça atual e a fantasma não entram: quem desenha compara as posições.
+     */
+    public void collectDirtyRegion(DirtyRegion into) {
+        into.add(dirty);
+        dirty.clear();
+    }
+
     // --- Ações do Jogador ---
-    public void moveLeft() {
-        tryMove(currentPiece, currentPiece.getX() - 1, currentPiece.getY());
+    // Movimentos e rotações devolvem true se a peça mudou de posição/rotação.
+
+    public boolean moveLeft() {
+        return tryMove(currentPiece.getOrientation(), currentPiece.getX() - 1, currentPiece.getY());
     }
 
-    public void moveRight() {
-        tryMove(currentPiece, currentPiece.getX() + 1, currentPiece.getY());
+    public boolean moveRight() {
+        return tryMove(currentPiece.getOrientation(), currentPiece.getX() + 1, currentPiece.getY());
     }
 
-    public void rotateLeft() {
-        if (tryMove(currentPiece.rotateLeft(), currentPiece.getX(), currentPiece.getY())) {
-            SoundManager.playSound("rotate.wav");
+    public boolean rotateLeft() {
+        if (tryMove(currentPiece.getOrientation().left(), currentPiece.getX(), currentPiece.getY())) {
+            listener.onPieceRotated();
+            return true;
         }
+        return false;
     }
 
-    public void rotateRight() {
-        if (tryMove(currentPiece.rotateRight(), currentPiece.getX(), currentPiece.getY())) {
-            SoundManager.playSound("rotate.wav");
+    public boolean rotateRight() {
+        if (tryMove(currentPiece.getOrientation().right(), currentPiece.getX(), currentPiece.getY())) {
+            listener.onPieceRotated();
+            return true;
         }
+        return false;
     }
 
     public void dropDown() {
         int newY = getGhostPieceY();
-        tryMove(currentPiece, currentPiece.getX(), newY);
+        tryMove(currentPiece.getOrientation(), currentPiece.getX(), newY);
         pieceDropped();
     }
 
-    public void movePieceDown() {
-        if (!tryMove(currentPiece, currentPiece.getX(), currentPiece.getY() - 1)) {
+    /**
+     * Desce a peça uma linha; se não for possível, ela trava no lugar.
+     * @return true se a peça travou (e uma nova peça foi gerada).
+     */
+    public boolean movePieceDown() {
+        if (!tryMove(currentPiece.getOrientation(), currentPiece.getX(), currentPiece.getY() - 1)) {
             pieceDropped();
+            return true;
         }
+        return false;
     }
 
     public void togglePause() {
@@ -195,24 +356,63 @@ public class Board {
         isGhostPieceEnabled = !isGhostPieceEnabled;
     }
 
+    /**
+     * Linha onde a peça atual pararia se caísse direto.
+     * Usa o mapa de alturas das colunas: para cada coluna da peça basta comparar a
+     * altura da coluna com a célula mais baixa da peça ali. Só quando a peça está
+     * embaixo de uma saliência (altura acima dela) é preciso descer linha a linha.
+     */
     public int getGhostPieceY() {
-        int y = currentPiece.getY();
-        while (true) {
-            if (!canMoveTo(currentPiece, currentPiece.getX(), y - 1)) {
-                return y;
+        if (ghostValid) {
+            return ghostY;
+        }
+
+        Orientation orientation = currentPiece.getOrientation();
+        int pieceY = currentPiece.getY();
+        int firstColumn = currentPiece.getX() + orientation.minX();
+        int landing = orientation.maxY(); // menor y em que a peça ainda fica acima do chão
+        for (int c = 0; c < orientation.columnCount(); c++) {
+            landing = Math.max(landing, columnHeights[firstColumn + c] + orientation.columnBottom(c));
+        }
+
+        if (landing > pieceY) {
+            // Peça encaixada sob uma saliência: o mapa de alturas não vale, desce linha a linha
+            landing = pieceY;
+            while (canMoveTo(orientation, currentPiece.getX(), landing - 1)) {
+                landing--;
             }
-            y--;
         }
+
+        ghostY = landing;
+        ghostValid = true;
+        return ghostY;
     }
 
-    private boolean canMoveTo(Piece piece, int newX, int newY) {
-        for (int i = 0; i < 4; i++) {
-            int x = newX + piece.x(i);
-            int y = newY - piece.y(i);
-            if (x < 0 || x >= BOARD_WIDTH || y < 0) return false;
-            if (y < BOARD_HEIGHT && shapeAt(x, y) != Shape.Tetrominoe.NoShape) return false;
+    /**
+     * Recalcula as alturas após uma limpeza de linhas, varrendo as máscaras de cima
+     * para baixo até que todas as colunas tenham encontrado seu bloco mais alto.
+     */
+    private void recomputeColumnHeights() {
+        int top = stackHeight;
+        Arrays.fill(columnHeights, 0);
+        stackHeight = 0;
+
+        long pending = fullRowMask;
+        for (int y = top - 1; y >= 0 && pending != 0; y--) {
+            long found = rowMasks[y] & pending;
+            if (found != 0 && stackHeight == 0) {
+                stackHeight = y + 1;
+            }
+            pending &= ~found;
+            while (found != 0) {
+                columnHeights[Long.numberOfTrailingZeros(found)] = y + 1;
+                found &= found - 1;
+            }
         }
-        return true;
+    }
+
+    private boolean canMoveTo(Orientation orientation, int newX, int newY) {
+        return orientation.fits(rowMasks, width, height, newX, newY);
     }
 
     private void updateScore(int lines) {
@@ -220,24 +420,22 @@ public class Board {
         score += points[lines] * level;
     }
 
-    private void loadHighScore() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(HIGHSCORE_FILE))) {
-            highScore = Integer.parseInt(reader.readLine());
-        } catch (IOException | NumberFormatException e) {
-            highScore = 0;
-        }
-    }
-
-    private void saveHighScore() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(HIGHSCORE_FILE))) {
-            writer.write(String.valueOf(highScore));
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar o high score: " + e.getMessage());
-        }
+    // O recorde é carregado/salvo fora do modelo (ver HighScoreStore)
+    public void setHighScore(int highScore) {
+        this.highScore = highScore;
     }
 
     // --- Getters ---
-    public Shape.Tetrominoe shapeAt(int x, int y) { return boardGrid[y * BOARD_WIDTH + x]; }
+    public Shape.Tetrominoe shapeAt(int x, int y) { return SHAPES[cells[y * width + x]]; }
+    public boolean isOccupied(int x, int y) { return (rowMasks[y] & (1L << x)) != 0; }
+    public long rowMask(int y) { return rowMasks[y]; }
+    public void copyRowMasks(long[] dest) { System.arraycopy(rowMasks, 0, dest, 0, rowMasks.length); }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getSpawnX() { return width / 2; }
+    public int getSpawnY(Orientation orientation) { return height - 1 + orientation.minY(); }
+    public int getStackHeight() { return stackHeight; }
+    public int getColumnHeight(int x) { return columnHeights[x]; }
     public boolean isStarted() { return isStarted; }
     public boolean isPaused() { return isPaused; }
     public boolean isGameOver() { return isGameOver; }
@@ -248,4 +446,10 @@ public class Board {
     public int getLinesCleared() { return linesCleared; }
     public Piece getCurrentPiece() { return currentPiece; }
     public Piece getNextPiece() { return nextPiece; }
+    public Orientation getCurrentOrientation() { return currentPiece.getOrientation(); }
+    public int getCurrentX() { return currentPiece.getX(); }
+    public int getCurrentY() { return currentPiece.getY(); }
+    public Shape.Tetrominoe getNextShape() { return nextPiece.getShape(); }
+    public PieceGenerator getGenerator() { return generator; }
+    public long getSeed() { return generator.getSeed(); }
 }
@@ -0,0 +1,57 @@
+package com.tetris.model;
+
+import java.util.Arrays;
+
+/**
+ * Histórico limitado de snapshots em buffer circular: ao encher, o mais antigo é descartado.
+ * Usado para desfazer jogadas (modo treino) e para bots que precisam voltar atrás.
+ */
+public class BoardHistory {
+
+    private final BoardSnapshot[] ring;
+    private int head = 0; // próxima posição livre
+    private int size = 0;
+
+    public BoardHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva: " + capacity);
+        }
+        this.ring = new BoardSnapshot[capacity];
+    }
+
+    public void push(BoardSnapshot snapshot) {
+        ring[head] = snapshot;
+        head = (head + 1) % ring.length;
+        if (size < ring.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Remove e devolve o snapshot mais recente, ou null se o histórico estiver vazio.
+     */
+    public BoardSnapshot pop() {
+        if (size == 0) {
+            return null;
+        }
+        head = (head - 1 + ring.length) % ring.length;
+        BoardSnapshot snapshot = ring[head];
+        ring[head] = null;
+        size--;
+        return snapshot;
+    }
+
+    /** Snapshot mais recente sem removê-lo, ou null. */
+    public BoardSnapshot peek() {
+        return size == 0 ? null : ring[(head - 1 + ring.length) % ring.length];
+    }
+
+    public void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return ring.length; }
+}
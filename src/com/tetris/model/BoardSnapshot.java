@@ -0,0 +1,121 @@
+package com.tetris.model;
+
+import java.util.Arrays;
+
+/**
+ * Cópia imutável do estado de um {@link Board} num instante: bitboard, células,
+ * alturas, pontuação, peças atual/próxima e o ponto exato do gerador de peças.
+ * Criar e restaurar um snapshot custa só algumas cópias de arrays pequenos,
+ * sem I/O e sem construir um Board novo.
+ * Por ser imutável, também é o que a simulação entrega à View para desenhar.
+ */
+public final class BoardSnapshot implements BoardState {
+
+    private static final Shape.Tetrominoe[] SHAPES = Shape.Tetrominoe.values();
+
+    final long[] rowMasks;
+    final byte[] cells;
+    final int[] columnHeights;
+    final int stackHeight;
+
+    final boolean started;
+    final boolean paused;
+    final boolean gameOver;
+    final boolean ghostEnabled;
+
+    final int score;
+    final int highScore;
+    final int level;
+    final int linesCleared;
+
+    final Orientation currentOrientation;
+    final int currentX;
+    final int currentY;
+    final int ghostY;
+    final Shape.Tetrominoe nextShape;
+    final PieceGenerator generator;
+
+    BoardSnapshot(long[] rowMasks, byte[] cells, int[] columnHeights, int stackHeight,
+                  boolean started, boolean paused, boolean gameOver, boolean ghostEnabled,
+                  int score, int highScore, int level, int linesCleared,
+                  Orientation currentOrientation, int currentX, int currentY, int ghostY,
+                  Shape.Tetrominoe nextShape, PieceGenerator generator) {
+        this.rowMasks = rowMasks;
+        this.cells = cells;
+        this.columnHeights = columnHeights;
+        this.stackHeight = stackHeight;
+        this.started = started;
+        this.paused = paused;
+        this.gameOver = gameOver;
+        this.ghostEnabled = ghostEnabled;
+        this.score = score;
+        this.highScore = highScore;
+        this.level = level;
+        this.linesCleared = linesCleared;
+        this.currentOrientation = currentOrientation;
+        this.currentX = currentX;
+        this.currentY = currentY;
+        this.ghostY = ghostY;
+        this.nextShape = nextShape;
+        this.generator = generator;
+    }
+
+    /**
+     * Cenário montado à mão a partir deste snapshot (benchmarks e ferramentas): as linhas de
+     * baixo viram as máscaras dadas, pintadas com 'fill', o resto fica vazio, e a peça atual
+     * passa a ser 'piece' em (x, y). Restaurar o resultado num Board monta o cenário.
+     */
+    public BoardSnapshot withStack(long[] masks, Shape.Tetrominoe fill, Orientation piece, int x, int y) {
+        int width = getWidth();
+        int height = getHeight();
+        if (masks.length > height) {
+            throw new IllegalArgumentException("Pilha de " + masks.length + " linhas não cabe na altura " + height);
+        }
+        long full = width == 64 ? -1L : (1L << width) - 1;
+        long[] rows = new long[height];
+        byte[] grid = new byte[width * height];
+        Arrays.fill(grid, (byte) Shape.Tetrominoe.NoShape.ordinal());
+        int[] heights = new int[width];
+        int stack = 0;
+        for (int row = 0; row < masks.length; row++) {
+            rows[row] = masks[row] & full;
+            for (int column = 0; column < width; column++) {
+                if ((rows[row] & (1L << column)) != 0) {
+                    grid[row * width + column] = (byte) fill.ordinal();
+                    heights[column] = row + 1;
+                    stack = row + 1;
+                }
+            }
+        }
+        if (!piece.fits(rows, width, height, x, y)) {
+            throw new IllegalArgumentException("A peça não cabe em (" + x + ", " + y + ")");
+        }
+        int landing = y;
+        while (piece.fits(rows, width, height, x, landing - 1)) {
+            landing--;
+        }
+        return new BoardSnapshot(rows, grid, heights, stack, started, paused, gameOver, ghostEnabled,
+                score, highScore, level, linesCleared, piece, x, y, landing, nextShape, generator);
+    }
+
+    // --- Getters ---
+    public int getWidth() { return columnHeights.length; }
+    public int getHeight() { return rowMasks.length; }
+    public long rowMask(int y) { return rowMasks[y]; }
+    public Shape.Tetrominoe shapeAt(int x, int y) { return SHAPES[cells[y * columnHeights.length + x]]; }
+    public int getStackHeight() { return stackHeight; }
+    public boolean isStarted() { return started; }
+    public boolean isPaused() { return paused; }
+    public boolean isGameOver() { return gameOver; }
+    public boolean isGhostPieceEnabled() { return ghostEnabled; }
+    public int getScore() { return score; }
+    public int getHighScore() { return highScore; }
+    public int getLevel() { return level; }
+    public int getLinesCleared() { return linesCleared; }
+    public Orientation getCurrentOrientation() { return currentOrientation; }
+    public int getCurrentX() { return currentX; }
+    public int getCurrentY() { return currentY; }
+    public int getGhostPieceY() { return ghostY; }
+    public Shape.Tetrominoe getNextShape() { return nextShape; }
+    public Shape.Tetrominoe getCurrentShape() { return currentOrientation.shape(); }
+}
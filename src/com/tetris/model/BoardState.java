@@ -0,0 +1,39 @@
+package com.tetris.model;
+
+/**
+ * Visão somente leitura do estado de um tabuleiro: tudo o que a interface precisa para desenhar.
+ * Implementada pelo {@link Board} e pelo {@link BoardSnapshot}, que é o que a View recebe
+ * quando a simulação roda numa thread própria.
+ */
+public interface BoardState {
+
+    int getWidth();
+    int getHeight();
+
+    /** Máscara das colunas ocupadas na linha 'y' (bit x = coluna x). */
+    long rowMask(int y);
+    Shape.Tetrominoe shapeAt(int x, int y);
+
+    /** Linha acima do bloco mais alto (0 = tabuleiro vazio). */
+    int getStackHeight();
+
+    boolean isStarted();
+    boolean isPaused();
+    boolean isGameOver();
+    boolean isGhostPieceEnabled();
+
+    int getScore();
+    int getHighScore();
+    int getLevel();
+    int getLinesCleared();
+
+    /** Rotação atual da peça em jogo; a forma é {@code NoShape} quando não há peça. */
+    Orientation getCurrentOrientation();
+    int getCurrentX();
+    int getCurrentY();
+
+    /** Linha onde a peça atual pararia se caísse direto. */
+    int getGhostPieceY();
+
+    Shape.Tetrominoe getNextShape();
+}
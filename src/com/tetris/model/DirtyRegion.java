@@ -0,0 +1,46 @@
+package com.tetris.model;
+
+/**
+ * Retângulo de células (coordenadas do tabuleiro, limites inclusivos) que mudaram e
+ * precisam ser redesenhadas. Vazio quando nada mudou.
+ */
+public final class DirtyRegion {
+
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    public DirtyRegion() {
+        clear();
+    }
+
+    /** Inclui o retângulo de (x0, y0) até (x1, y1), inclusive. */
+    public void add(int x0, int y0, int x1, int y1) {
+        if (x0 > x1 || y0 > y1) return;
+        minX = Math.min(minX, x0);
+        minY = Math.min(minY, y0);
+        maxX = Math.max(maxX, x1);
+        maxY = Math.max(maxY, y1);
+    }
+
+    public void add(DirtyRegion other) {
+        if (!other.isEmpty()) {
+            add(other.minX, other.minY, other.maxX, other.maxY);
+        }
+    }
+
+    public void clear() {
+        minX = minY = Integer.MAX_VALUE;
+        maxX = maxY = Integer.MIN_VALUE;
+    }
+
+    public boolean isEmpty() {
+        return minX > maxX;
+    }
+
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+}
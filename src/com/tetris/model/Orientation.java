@@ -0,0 +1,121 @@
+package com.tetris.model;
+
+import java.util.Arrays;
+
+/**
+ * Uma das 4 rotações de um tetrominó, pré-calculada uma única vez (flyweight imutável).
+ * Guarda as coordenadas relativas, a caixa delimitadora e uma máscara de bits por linha,
+ * usada pelo Board para testar colisões com operações de máscara.
+ */
+public final class Orientation {
+
+    private final Shape.Tetrominoe shape;
+    private final int index;
+    private final int[] xs;
+    private final int[] ys;
+    private final int minX, maxX, minY, maxY;
+
+    // rowMasks[k] = colunas ocupadas na linha relativa y = minY + k (bit 0 = coluna minX)
+    private final long[] rowMasks;
+
+    // columnBottoms[c] = maior y relativo ocupado na coluna minX + c,
+    // ou seja, a célula mais baixa da peça naquela coluna (y do tabuleiro = pieceY - y relativo)
+    private final int[] columnBottoms;
+
+    private Orientation left;
+    private Orientation right;
+    private Orientation canonical = this;
+
+    Orientation(Shape.Tetrominoe shape, int index, int[][] coords) {
+        this.shape = shape;
+        this.index = index;
+        this.xs = new int[4];
+        this.ys = new int[4];
+        int mnX = coords[0][0], mxX = coords[0][0], mnY = coords[0][1], mxY = coords[0][1];
+        for (int i = 0; i < 4; i++) {
+            xs[i] = coords[i][0];
+            ys[i] = coords[i][1];
+            mnX = Math.min(mnX, xs[i]);
+            mxX = Math.max(mxX, xs[i]);
+            mnY = Math.min(mnY, ys[i]);
+            mxY = Math.max(mxY, ys[i]);
+        }
+        this.minX = mnX;
+        this.maxX = mxX;
+        this.minY = mnY;
+        this.maxY = mxY;
+
+        this.rowMasks = new long[maxY - minY + 1];
+        for (int i = 0; i < 4; i++) {
+            rowMasks[ys[i] - minY] |= 1L << (xs[i] - minX);
+        }
+
+        this.columnBottoms = new int[maxX - minX + 1];
+        Arrays.fill(columnBottoms, Integer.MIN_VALUE);
+        for (int i = 0; i < 4; i++) {
+            int c = xs[i] - minX;
+            columnBottoms[c] = Math.max(columnBottoms[c], ys[i]);
+        }
+    }
+
+    void link(Orientation left, Orientation right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    void setCanonical(Orientation canonical) {
+        this.canonical = canonical;
+    }
+
+    /**
+     * true se as duas rotações ocupam exatamente as mesmas células relativas ao canto
+     * (minX, minY), ou seja, produzem o mesmo resultado no tabuleiro.
+     */
+    boolean sameCellsAs(Orientation other) {
+        return Arrays.equals(rowMasks, other.rowMasks);
+    }
+
+    /**
+     * Testa se a rotação cabe na posição (x, y) de um bitboard qualquer.
+     * É a regra de colisão usada pelo Board e pelas ferramentas de IA.
+     */
+    public boolean fits(long[] rows, int width, int height, int x, int y) {
+        int leftColumn = x + minX;
+        if (leftColumn < 0 || x + maxX >= width || y - maxY < 0) {
+            return false;
+        }
+        int topRow = y - minY;
+        for (int k = 0; k < rowMasks.length; k++) {
+            int row = topRow - k;
+            if (row < height && (rows[row] & (rowMasks[k] << leftColumn)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Shape.Tetrominoe shape() { return shape; }
+    public int index() { return index; }
+    public int x(int i) { return xs[i]; }
+    public int y(int i) { return ys[i]; }
+    public int minX() { return minX; }
+    public int maxX() { return maxX; }
+    public int minY() { return minY; }
+    public int maxY() { return maxY; }
+    public int rowCount() { return rowMasks.length; }
+    public long rowMask(int k) { return rowMasks[k]; }
+    public int columnCount() { return columnBottoms.length; }
+    public int columnBottom(int c) { return columnBottoms[c]; }
+
+    /**
+     * Primeira rotação da mesma forma com as mesmas células (ex.: as 4 do quadrado são iguais).
+     * Serve para eliminar posições finais repetidas.
+     */
+    public Orientation canonical() { return canonical; }
+
+    /** Próxima rotação no sentido anti-horário. */
+    public Orientation left() { return left; }
+
+    /** Próxima rotação no sentido horário. */
+    public Orientation right() { return right; }
+}
@@ -0,0 +1,176 @@
+package com.tetris.model;
+
+/**
+ * Gera a sequência de formas de uma partida a partir de uma semente.
+ * A mesma semente sempre produz a mesma sequência (replays, benchmarks e bots).
+ * As próximas {@link #LOOKAHEAD} formas ficam pré-calculadas num buffer circular,
+ * então gerar uma peça não aloca nada e dá para espiar as futuras com {@link #peek(int)}.
+ *
+ * O sorteio usa o mesmo algoritmo do java.util.SplittableRandom (SplitMix64), mas com o
+ * estado num campo próprio para que o gerador possa ser copiado em snapshots do Board.
+ */
+public abstract class PieceGenerator {
+
+    /** Estratégias disponíveis. */
+    public enum Kind {
+        /** Cada forma sorteada de modo independente (comportamento clássico). */
+        UNIFORM,
+        /** "7-bag": as 7 formas embaralhadas, uma de cada, antes de repetir. */
+        BAG
+    }
+
+    /** Quantidade de formas futuras mantidas no buffer (potência de 2). */
+    public static final int LOOKAHEAD = 8;
+    private static final int MASK = LOOKAHEAD - 1;
+
+    // As 7 formas jogáveis (sem NoShape)
+    protected static final Shape.Tetrominoe[] PLAYABLE = {
+        Shape.Tetrominoe.ZShape, Shape.Tetrominoe.SShape, Shape.Tetrominoe.LineShape,
+        Shape.Tetrominoe.TShape, Shape.Tetrominoe.SquareShape, Shape.Tetrominoe.LShape,
+        Shape.Tetrominoe.MirroredLShape
+    };
+
+    private final Shape.Tetrominoe[] buffer = new Shape.Tetrominoe[LOOKAHEAD];
+    private int head;
+    private long seed;
+    private long state; // estado do SplitMix64
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public static PieceGenerator create(Kind kind, long seed) {
+        PieceGenerator generator = (kind == Kind.BAG) ? new BagGenerator() : new UniformGenerator();
+        generator.reset(seed);
+        return generator;
+    }
+
+    /**
+     * Reinicia a sequência a partir da semente informada.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        this.state = seed;
+        resetState();
+        for (int i = 0; i < LOOKAHEAD; i++) {
+            buffer[i] = generate();
+        }
+        head = 0;
+    }
+
+    /** Retira a próxima forma da sequência. */
+    public Shape.Tetrominoe next() {
+        Shape.Tetrominoe shape = buffer[head];
+        buffer[head] = generate();
+        head = (head + 1) & MASK;
+        return shape;
+    }
+
+    /** Forma que sairá após 'i' chamadas a next() (0 = a próxima). */
+    public Shape.Tetrominoe peek(int i) {
+        if (i < 0 || i >= LOOKAHEAD) {
+            throw new IndexOutOfBoundsException("Lookahead máximo é " + LOOKAHEAD + ": " + i);
+        }
+        return buffer[(head + i) & MASK];
+    }
+
+    public long getSeed() { return seed; }
+
+    /**
+     * Cria uma cópia independente, no mesmo ponto da sequência.
+     */
+    public PieceGenerator copy() {
+        PieceGenerator copy = (kind() == Kind.BAG) ? new BagGenerator() : new UniformGenerator();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Copia o estado de outro gerador do mesmo tipo (sem alocar).
+     */
+    public void copyFrom(PieceGenerator other) {
+        if (other.kind() != kind()) {
+            throw new IllegalArgumentException("Geradores de tipos diferentes: " + other.kind() + " / " + kind());
+        }
+        System.arraycopy(other.buffer, 0, buffer, 0, LOOKAHEAD);
+        head = other.head;
+        seed = other.seed;
+        state = other.state;
+        copyStateFrom(other);
+    }
+
+    /** Inteiro uniforme em [0, bound), idêntico a SplittableRandom.nextInt(bound). */
+    protected final int nextInt(int bound) {
+        int r = mix32(state += GOLDEN_GAMMA);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(state += GOLDEN_GAMMA) >>> 1) {
+            // rejeita valores que introduziriam viés
+        }
+        return r;
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    public abstract Kind kind();
+
+    /** Sorteia uma nova forma para o fim do buffer. */
+    protected abstract Shape.Tetrominoe generate();
+
+    /** Limpa o estado interno da estratégia antes de preencher o buffer. */
+    protected void resetState() { }
+
+    /** Copia o estado interno da estratégia (chamado por copyFrom). */
+    protected void copyStateFrom(PieceGenerator other) { }
+
+    // --- Estratégias ---
+
+    private static final class UniformGenerator extends PieceGenerator {
+        @Override
+        public Kind kind() { return Kind.UNIFORM; }
+
+        @Override
+        protected Shape.Tetrominoe generate() {
+            return PLAYABLE[nextInt(PLAYABLE.length)];
+        }
+    }
+
+    private static final class BagGenerator extends PieceGenerator {
+        private final Shape.Tetrominoe[] bag = PLAYABLE.clone();
+        private int index = bag.length;
+
+        @Override
+        public Kind kind() { return Kind.BAG; }
+
+        @Override
+        protected void resetState() {
+            System.arraycopy(PLAYABLE, 0, bag, 0, bag.length);
+            index = bag.length;
+        }
+
+        @Override
+        protected void copyStateFrom(PieceGenerator other) {
+            BagGenerator source = (BagGenerator) other;
+            System.arraycopy(source.bag, 0, bag, 0, bag.length);
+            index = source.index;
+        }
+
+        @Override
+        protected Shape.Tetrominoe generate() {
+            if (index == bag.length) {
+                // Fisher-Yates no próprio array: nenhuma alocação por saco
+                for (int i = bag.length - 1; i > 0; i--) {
+                    int j = nextInt(i + 1);
+                    Shape.Tetrominoe tmp = bag[i];
+                    bag[i] = bag[j];
+                    bag[j] = tmp;
+                }
+                index = 0;
+            }
+            return bag[index++];
+        }
+    }
+}
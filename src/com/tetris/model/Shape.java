@@ -11,6 +11,9 @@ public class Shape {
 
     private static int[][][] coordsTable;
 
+    // Todas as formas × 4 rotações, calculadas uma vez e compartilhadas por todas as peças
+    private static final Orientation[][] orientations;
+
     static {
         coordsTable = new int[][][] {
             { { 0, 0 },  { 0, 0 },  { 0, 0 },  { 0, 0 } }, // NoShape
@@ -22,9 +25,46 @@ public class Shape {
             { { -1, -1 },{ 0, -1 }, { 0, 0 },  { 0, 1 } },  // LShape
             { { 1, -1 }, { 0, -1 }, { 0, 0 },  { 0, 1 } }   // MirroredLShape
         };
+
+        Tetrominoe[] shapes = Tetrominoe.values();
+        orientations = new Orientation[shapes.length][4];
+        for (Tetrominoe shape : shapes) {
+            int[][] coords = coordsTable[shape.ordinal()];
+            for (int r = 0; r < 4; r++) {
+                orientations[shape.ordinal()][r] = new Orientation(shape, r, coords);
+                // O quadrado não gira: as 4 rotações mantêm as coordenadas originais
+                if (shape != Tetrominoe.SquareShape) {
+                    coords = rotateLeft(coords);
+                }
+            }
+            Orientation[] row = orientations[shape.ordinal()];
+            for (int r = 0; r < 4; r++) {
+                row[r].link(row[(r + 1) % 4], row[(r + 3) % 4]);
+                for (int c = 0; c < r; c++) {
+                    if (row[c].canonical() == row[c] && row[r].sameCellsAs(row[c])) {
+                        row[r].setCanonical(row[c]);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    // Rotação anti-horária: (x, y) -> (-y, x)
+    private static int[][] rotateLeft(int[][] coords) {
+        int[][] result = new int[4][2];
+        for (int i = 0; i < 4; i++) {
+            result[i][0] = -coords[i][1];
+            result[i][1] = coords[i][0];
+        }
+        return result;
     }
 
     public static int[][][] getCoordsTable() {
         return coordsTable;
     }
+
+    public static Orientation orientation(Tetrominoe shape, int rotation) {
+        return orientations[shape.ordinal()][rotation];
+    }
 }
@@ -0,0 +1,196 @@
+package com.tetris.replay;
+
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.PieceGenerator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Gravação de uma partida: semente + gerador + sequência de pares (tick, comando).
+ * Como o engine é determinístico, isso basta para reproduzir a partida inteira.
+ *
+ * Formato binário (big-endian):
+ *   "TRPL" | versão (1 byte) | gerador (1 byte) | semente (8 bytes)
+ *   | largura, altura do tabuleiro (varint cada; só a partir da versão 2) | nome do jogador (UTF) | pontos, linhas, nível (varint cada) | total de ticks (varint)
+ *   | quantidade de comandos (varint) | comandos
+ * Cada comando é um varint ((ticks desde o comando anterior) << 3 | ordinal do Input),
+ * ou seja, 1 byte na grande maioria dos casos.
+ */
+public final class Replay {
+
+    private static final int MAGIC = 0x5452504C; // "TRPL"
+    private static final int VERSION = 2;
+    private static final Input[] INPUTS = Input.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long seed;
+    private final PieceGenerator.Kind generatorKind;
+    private final int width;
+    private final int height;
+    private final String playerName;
+    private final int score;
+    private final int lines;
+    private final int level;
+    private final long totalTicks;
+    private final long[] ticks;
+    private final Input[] inputs;
+
+    public Replay(long seed, PieceGenerator.Kind generatorKind, int width, int height, String playerName,
+                  int score, int lines, int level, long totalTicks, long[] ticks, Input[] inputs) {
+        this.seed = seed;
+        this.generatorKind = generatorKind;
+        this.width = width;
+        this.height = height;
+        this.playerName = playerName == null ? "" : playerName;
+        this.score = score;
+        this.lines = lines;
+        this.level = level;
+        this.totalTicks = totalTicks;
+        this.ticks = ticks;
+        this.inputs = inputs;
+    }
+
+    // --- Getters ---
+    public long getSeed() { return seed; }
+    public PieceGenerator.Kind getGeneratorKind() { return generatorKind; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public String getPlayerName() { return playerName; }
+    public int getScore() { return score; }
+    public int getLines() { return lines; }
+    public int getLevel() { return level; }
+    public long getTotalTicks() { return totalTicks; }
+    public int size() { return inputs.length; }
+    public long tickAt(int i) { return ticks[i]; }
+    public Input inputAt(int i) { return inputs[i]; }
+
+    // --- Serialização ---
+
+    public void write(Path path) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(out);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(generatorKind.ordinal());
+        out.writeLong(seed);
+        writeVarLong(out, width);
+        writeVarLong(out, height);
+        out.writeUTF(playerName);
+        writeVarLong(out, score);
+        writeVarLong(out, lines);
+        writeVarLong(out, level);
+        writeVarLong(out, totalTicks);
+        writeVarLong(out, inputs.length);
+        long previousTick = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            writeVarLong(out, ((ticks[i] - previousTick) << 3) | inputs[i].ordinal());
+            previousTick = ticks[i];
+        }
+        out.flush();
+    }
+
+    public static Replay read(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    public static Replay read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Arquivo não é um replay do Tetris");
+        }
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Versão de replay não suportada: " + version);
+        }
+        int generator = in.readUnsignedByte();
+        if (generator >= PieceGenerator.Kind.values().length) {
+            throw new IOException("Gerador desconhecido no replay: " + generator);
+        }
+        PieceGenerator.Kind kind = PieceGenerator.Kind.values()[generator];
+        long seed = in.readLong();
+        // A versão 1 não gravava as dimensões: todas as partidas eram no tabuleiro padrão
+        long storedWidth = version >= 2 ? readVarLong(in) : Board.DEFAULT_WIDTH;
+        long storedHeight = version >= 2 ? readVarLong(in) : Board.DEFAULT_HEIGHT;
+        // Confere antes de converter para int: um varint grande truncado pareceria válido
+        if (storedWidth < Board.MIN_SIZE || storedWidth > Board.MAX_WIDTH
+                || storedHeight < Board.MIN_SIZE || storedHeight > Board.MAX_HEIGHT) {
+            throw new IOException("Tabuleiro inválido no replay: " + storedWidth + "x" + storedHeight);
+        }
+        int width = (int) storedWidth;
+        int height = (int) storedHeight;
+        String player = in.readUTF();
+        int score = (int) readVarLong(in);
+        int lines = (int) readVarLong(in);
+        int level = (int) readVarLong(in);
+        long totalTicks = readVarLong(in);
+        long storedCount = readVarLong(in);
+        if (storedCount < 0 || storedCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Quantidade de comandos inválida no replay: " + storedCount);
+        }
+        int count = (int) storedCount;
+
+        // Os arrays crescem conforme os comandos chegam: uma quantidade corrompida termina
+        // em EOFException quando o arquivo acaba, não numa alocação gigante logo de cara
+        int capacity = Math.min(count, INITIAL_CAPACITY);
+        long[] ticks = new long[capacity];
+        Input[] inputs = new Input[capacity];
+        long tick = 0;
+        for (int i = 0; i < count; i++) {
+            long packed = readVarLong(in);
+            if (i == capacity) {
+                capacity = (int) Math.min(count, 2L * capacity);
+                ticks = Arrays.copyOf(ticks, capacity);
+                inputs = Arrays.copyOf(inputs, capacity);
+            }
+            tick += packed >>> 3;
+            ticks[i] = tick;
+            int input = (int) (packed & 7);
+            if (input >= INPUTS.length) {
+                throw new IOException("Comando desconhecido no replay: " + input);
+            }
+            inputs[i] = INPUTS[input];
+        }
+        return new Replay(seed, kind, width, height, player, score, lines, level, totalTicks, ticks, inputs);
+    }
+
+    // Varint sem sinal: 7 bits por byte, bit mais alto indica continuação
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Replay truncado");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint inválido no replay");
+    }
+}
@@ -0,0 +1,118 @@
+package com.tetris.replay;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.model.Board;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Reexecuta um {@link Replay} sobre um {@link GameEngine}.
+ * Pode ser avançado tick a tick (reprodução em tempo real na interface)
+ * ou executado de uma vez, na velocidade máxima da CPU.
+ *
+ * Uso pela linha de comando, para conferir pontuações gravadas:
+ *   java -cp bin com.tetris.replay.ReplayPlayer replays/*.trp
+ */
+public class ReplayPlayer {
+
+    private final Replay replay;
+    private final GameEngine engine;
+    private int cursor;
+
+    public ReplayPlayer(Replay replay, GameEngine engine) {
+        this.replay = replay;
+        this.engine = engine;
+    }
+
+    /** Reinicia o Board com a semente do replay e aplica os comandos anteriores ao primeiro tick. */
+    public void start() {
+        Board board = engine.getBoard();
+        if (board.getWidth() != replay.getWidth() || board.getHeight() != replay.getHeight()) {
+            throw new IllegalStateException("Replay gravado num tabuleiro " + replay.getWidth() + "x"
+                    + replay.getHeight() + ", mas o atual é " + board.getWidth() + "x" + board.getHeight());
+        }
+        cursor = 0;
+        engine.getBoard().setGeneratorKind(replay.getGeneratorKind());
+        engine.start(replay.getSeed());
+        applyPendingInputs();
+    }
+
+    /**
+     * Avança um tick de gravidade e aplica os comandos gravados até o próximo tick.
+     * @return false se o replay já terminou.
+     */
+    public boolean advance() {
+        if (isFinished()) {
+            return false;
+        }
+        if (!engine.isRunning()) {
+            return true; // pausado: o replay espera junto com o jogo
+        }
+        engine.tick();
+        applyPendingInputs();
+        return true;
+    }
+
+    /** Executa o replay inteiro sem pausas. */
+    public void runToEnd() {
+        while (advance()) {
+            // nada: cada chamada já avança a partida
+        }
+    }
+
+    public boolean isFinished() {
+        return engine.getBoard().isGameOver()
+                || (cursor >= replay.size() && engine.getTickCount() >= replay.getTotalTicks());
+    }
+
+    private void applyPendingInputs() {
+        while (cursor < replay.size() && replay.tickAt(cursor) <= engine.getTickCount()) {
+            engine.step(replay.inputAt(cursor++));
+        }
+    }
+
+    public Replay getReplay() { return replay; }
+
+    /**
+     * Reexecuta o replay num Board novo e devolve o Board no estado final.
+     */
+    public static Board playHeadless(Replay replay) {
+        Board board = new Board(replay.getWidth(), replay.getHeight(), replay.getGeneratorKind());
+        ReplayPlayer player = new ReplayPlayer(replay, new GameEngine(board));
+        player.start();
+        player.runToEnd();
+        return board;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Uso: ReplayPlayer <arquivo.trp>...");
+            System.exit(1);
+        }
+
+        int mismatches = 0;
+        long totalInputs = 0;
+        long start = System.nanoTime();
+        for (String arg : args) {
+            Path path = Paths.get(arg);
+            Replay replay = Replay.read(path);
+            Board board = playHeadless(replay);
+            totalInputs += replay.size();
+
+            boolean ok = board.getScore() == replay.getScore()
+                    && board.getLinesCleared() == replay.getLines()
+                    && board.getLevel() == replay.getLevel();
+            if (!ok) mismatches++;
+            System.out.printf("%s  %-12s gravado=%d reproduzido=%d linhas=%d nível=%d  %s%n",
+                    path.getFileName(), replay.getPlayerName(), replay.getScore(), board.getScore(),
+                    board.getLinesCleared(), board.getLevel(), ok ? "OK" : "DIVERGENTE");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d replays (%d comandos) em %.3f s, %d divergente(s)%n",
+                args.length, totalInputs, seconds, mismatches);
+        if (mismatches > 0) {
+            System.exit(2);
+        }
+    }
+}
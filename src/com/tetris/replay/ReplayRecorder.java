@@ -0,0 +1,48 @@
+package com.tetris.replay;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.PieceGenerator;
+import java.util.Arrays;
+
+/**
+ * Acumula os comandos de uma partida em andamento.
+ * O {@link GameEngine} chama {@link #record(long, Input)} a cada comando aceito.
+ */
+public class ReplayRecorder {
+
+    private final long seed;
+    private final PieceGenerator.Kind generatorKind;
+    private final int width;
+    private final int height;
+    private long[] ticks = new long[256];
+    private Input[] inputs = new Input[256];
+    private int size = 0;
+
+    public ReplayRecorder(Board board) {
+        this.seed = board.getSeed();
+        this.generatorKind = board.getGenerator().kind();
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+    }
+
+    public void record(long tick, Input input) {
+        if (size == inputs.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            inputs = Arrays.copyOf(inputs, size * 2);
+        }
+        ticks[size] = tick;
+        inputs[size] = input;
+        size++;
+    }
+
+    /**
+     * Fecha a gravação com o resultado final da partida.
+     */
+    public Replay finish(GameEngine engine, String playerName) {
+        Board board = engine.getBoard();
+        return new Replay(seed, generatorKind, width, height, playerName, board.getScore(), board.getLinesCleared(),
+                board.getLevel(), engine.getTickCount(), Arrays.copyOf(ticks, size), Arrays.copyOf(inputs, size));
+    }
+}
@@ -0,0 +1,40 @@
+package com.tetris.replay;
+
+import com.tetris.engine.EventSubscriber;
+import com.tetris.engine.GameEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Salva em disco o replay de cada partida válida encerrada
+ * ({@code <pasta>/replay-<data>-<jogador>.trp}).
+ */
+public class ReplaySubscriber implements EventSubscriber {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path dir;
+
+    public ReplaySubscriber(String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event.type() != GameEvent.Type.GAME_RECORDED) {
+            return;
+        }
+        Replay replay = (Replay) event.attachment();
+        String stamp = LocalDateTime.now().format(STAMP);
+        String safeName = replay.getPlayerName().replaceAll("[^A-Za-z0-9_-]", "_");
+        Path path = dir.resolve("replay-" + stamp + "-" + safeName + ".trp");
+        try {
+            replay.write(path);
+        } catch (IOException ex) {
+            System.err.println("Erro ao salvar o replay: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.tetris.sim;
+
+import com.tetris.ai.BotPolicy;
+import com.tetris.ai.BeamSearchBot;
+import com.tetris.ai.HeuristicBot;
+import com.tetris.ai.HeuristicWeights;
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import com.tetris.model.Board;
+import com.tetris.model.PieceGenerator;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Executa N partidas sem interface, em paralelo em todos os núcleos, e imprime
+ * um relatório de vazão (partidas/s, peças/s) e a distribuição de pontos e linhas.
+ *
+ * Uso: java -cp bin com.tetris.sim.BatchRunner [--games N] [--threads T] [--seed S]
+ *                                             [--policy random|heuristic|beam] [--max-pieces M]
+ *                                             [--generator uniform|bag] [--width W] [--height H]
+ */
+public class BatchRunner {
+
+    /** Resultado final de uma partida simulada. */
+    public record GameResult(long seed, int score, int lines, int level, long pieces, long ticks,
+                             long decisions, long decisionNanos) { }
+
+    /** Cria a política de uma partida, sabendo o tamanho do tabuleiro e a semente. */
+    @FunctionalInterface
+    public interface PolicyFactory {
+        InputPolicy create(int width, int height, long seed);
+    }
+
+    private static final Map<String, PolicyFactory> POLICIES = new LinkedHashMap<>();
+
+    static {
+        POLICIES.put("random", (width, height, seed) -> new RandomPolicy(seed));
+        POLICIES.put("heuristic", (width, height, seed) -> new BotPolicy(
+                new HeuristicBot(width, height, HeuristicWeights.DEFAULT)));
+        POLICIES.put("beam", (width, height, seed) -> new BotPolicy(
+                new BeamSearchBot(width, height, HeuristicWeights.DEFAULT)));
+    }
+
+    /** Política pelo nome usado em {@code --policy}, ou null se não existir. */
+    public static PolicyFactory policy(String name) {
+        return POLICIES.get(name);
+    }
+
+    /** Nomes aceitos em {@code --policy}. */
+    public static String policyNames() {
+        return POLICIES.keySet().toString();
+    }
+
+    private final PolicyFactory policyFactory;
+    private final long maxPieces;
+    private final PieceGenerator.Kind generatorKind;
+    private final int width;
+    private final int height;
+
+    public BatchRunner(PolicyFactory policyFactory, long maxPieces, PieceGenerator.Kind generatorKind) {
+        this(policyFactory, maxPieces, generatorKind, Board.DEFAULT_WIDTH, Board.DEFAULT_HEIGHT);
+    }
+
+    public BatchRunner(PolicyFactory policyFactory, long maxPieces, PieceGenerator.Kind generatorKind,
+                       int width, int height) {
+        this.policyFactory = policyFactory;
+        this.maxPieces = maxPieces;
+        this.generatorKind = generatorKind;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Joga uma partida completa (até o game over ou o limite de peças) com um Board próprio.
+     */
+    public GameResult playGame(long seed) {
+        Board board = new Board(width, height, generatorKind);
+        GameEngine engine = new GameEngine(board);
+        InputPolicy policy = policyFactory.create(width, height, policySeed(seed));
+        engine.start(seed);
+
+        while (!board.isGameOver() && engine.getPieceCount() < maxPieces) {
+            Input input = policy.nextInput(engine);
+            if (input == null) {
+                engine.tick();
+            } else {
+                engine.step(input);
+            }
+        }
+        return new GameResult(seed, board.getScore(), board.getLinesCleared(), board.getLevel(),
+                engine.getPieceCount(), engine.getTickCount(), policy.decisions(), policy.decisionNanos());
+    }
+
+    /**
+     * Joga 'games' partidas no pool informado; a partida i usa a semente derivada de (baseSeed, i).
+     */
+    public GameResult[] run(ForkJoinPool pool, int games, long baseSeed) {
+        return pool.submit(() -> IntStream.range(0, games)
+                .parallel()
+                .mapToObj(i -> playGame(gameSeed(baseSeed, i)))
+                .toArray(GameResult[]::new)).join();
+    }
+
+    // Mistura estilo SplitMix64 para que sementes vizinhas gerem partidas independentes
+    static long gameSeed(long baseSeed, int index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Semente da política numa partida com a semente 'seed'. O gerador de peças tira os seus
+     * sorteios de mix(seed + k*γ), a mesma sequência do SplittableRandom(seed); gameSeed(seed, k)
+     * cairia nela. O complemento começa a sequência num ponto qualquer, longe desse.
+     */
+    static long policySeed(long seed) {
+        return gameSeed(~seed, 0);
+    }
+
+    public static void main(String[] args) {
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String policyName = "random";
+        long maxPieces = 100_000;
+        PieceGenerator.Kind generatorKind = PieceGenerator.Kind.UNIFORM;
+        int width = Board.DEFAULT_WIDTH;
+        int height = Board.DEFAULT_HEIGHT;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--policy": policyName = args[++i]; break;
+                case "--max-pieces": maxPieces = Long.parseLong(args[++i]); break;
+                case "--generator": generatorKind = PieceGenerator.Kind.valueOf(args[++i].toUpperCase()); break;
+                case "--width": width = Integer.parseInt(args[++i]); break;
+                case "--height": height = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Argumento desconhecido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        PolicyFactory factory = policy(policyName);
+        if (factory == null) {
+            System.err.println("Política desconhecida: " + policyName + " (disponíveis: " + policyNames() + ")");
+            System.exit(1);
+        }
+
+        System.out.printf("Simulando %d partidas em %d threads (política=%s, gerador=%s, tabuleiro=%dx%d, semente=%d)%n",
+                games, threads, policyName, generatorKind, width, height, seed);
+
+        BatchRunner runner = new BatchRunner(factory, maxPieces, generatorKind, width, height);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        GameResult[] results = runner.run(pool, games, seed);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        printReport(results, elapsed);
+    }
+
+    static void printReport(GameResult[] results, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long totalPieces = 0;
+        long totalTicks = 0;
+        long totalDecisions = 0;
+        long totalDecisionNanos = 0;
+        int[] scores = new int[results.length];
+        int[] lines = new int[results.length];
+        int[] levels = new int[results.length];
+        for (int i = 0; i < results.length; i++) {
+            totalPieces += results[i].pieces();
+            totalTicks += results[i].ticks();
+            totalDecisions += results[i].decisions();
+            totalDecisionNanos += results[i].decisionNanos();
+            scores[i] = results[i].score();
+            lines[i] = results[i].lines();
+            levels[i] = results[i].level();
+        }
+
+        System.out.println("=== Relatório da simulação ===");
+        System.out.printf("Tempo total:  %.3f s%n", seconds);
+        System.out.printf("Partidas/s:   %.1f%n", results.length / seconds);
+        System.out.printf("Peças/s:      %.1f%n", totalPieces / seconds);
+        System.out.printf("Ticks/s:      %.1f%n", totalTicks / seconds);
+        if (totalDecisions > 0) {
+            // Vazão de uma thread decidindo (sem contar o tempo do engine)
+            System.out.printf("Decisões/s:   %.1f por thread%n", totalDecisions / (totalDecisionNanos / 1e9));
+        }
+        printDistribution("Pontuação", scores);
+        printDistribution("Linhas", lines);
+        printDistribution("Nível", levels);
+    }
+
+    private static void printDistribution(String name, int[] values) {
+        if (values.length == 0) return;
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).asLongStream().sum() / (double) sorted.length;
+        System.out.printf("%-10s min=%d p50=%d p90=%d p99=%d max=%d média=%.1f%n", name + ":",
+                sorted[0], percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted[sorted.length - 1], mean);
+    }
+
+    private static int percentile(int[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
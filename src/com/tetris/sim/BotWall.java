@@ -0,0 +1,150 @@
+package com.tetris.sim;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import com.tetris.engine.SimulationLoop;
+import com.tetris.model.Board;
+import com.tetris.model.BoardState;
+import com.tetris.model.PieceGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Várias partidas de bots simultâneas, em tempo real, para serem assistidas (a "parede").
+ *
+ * É o passo de um {@link SimulationLoop}: a cada passo todas as partidas avançam em paralelo
+ * num {@link ForkJoinPool}, cada uma com o seu Board, engine e política. O bot aplica um
+ * comando a cada intervalo fixo (quando a política não tem comando, a peça cai uma linha).
+ * Uma partida terminada fica parada por um instante e recomeça com outra semente.
+ *
+ * Quem desenha lê {@link #get(int)}: a foto mais recente de cada partida, publicada só
+ * quando algo mudou; a mesma referência significa que nada mudou.
+ */
+public class BotWall implements SimulationLoop.Step {
+
+    public static final int MIN_GAMES = 1;
+    public static final int MAX_GAMES = 256;
+    public static final int DEFAULT_MOVES_PER_SECOND = 20;
+
+    private static final long RESTART_DELAY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Game[] games;
+    private final AtomicReferenceArray<BoardState> latest;
+    private final ForkJoinPool pool;
+    private final BatchRunner.PolicyFactory policyFactory;
+    private final long baseSeed;
+    private final long moveNanos;
+
+    private final LongAdder piecesPlayed = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+
+    public BotWall(int count, BatchRunner.PolicyFactory policyFactory, int width, int height,
+                   PieceGenerator.Kind generatorKind, int movesPerSecond, long baseSeed, int threads) {
+        if (count < MIN_GAMES || count > MAX_GAMES) {
+            throw new IllegalArgumentException("Número de partidas fora de " + MIN_GAMES + ".." + MAX_GAMES + ": " + count);
+        }
+        if (movesPerSecond <= 0) {
+            throw new IllegalArgumentException("Comandos por segundo inválidos: " + movesPerSecond);
+        }
+        this.policyFactory = policyFactory;
+        this.baseSeed = baseSeed;
+        this.moveNanos = TimeUnit.SECONDS.toNanos(1) / movesPerSecond;
+        this.pool = new ForkJoinPool(threads);
+        this.games = new Game[count];
+        this.latest = new AtomicReferenceArray<>(count);
+        for (int i = 0; i < count; i++) {
+            games[i] = new Game(i, new Board(width, height, generatorKind));
+            games[i].restart();
+        }
+    }
+
+    public int getCount() {
+        return games.length;
+    }
+
+    /** Foto mais recente da partida {@code index}. Pode ser chamado de qualquer thread. */
+    public BoardState get(int index) {
+        return latest.get(index);
+    }
+
+    public long getPiecesPlayed() {
+        return piecesPlayed.sum();
+    }
+
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    @Override
+    public void step(long stepNanos) {
+        pool.submit(() -> IntStream.range(0, games.length)
+                .parallel()
+                .forEach(i -> games[i].advance(stepNanos))).join();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** Uma partida da parede; cada uma só é tocada por uma thread do pool por vez. */
+    private final class Game {
+        private final int index;
+        private final Board board;
+        private final GameEngine engine;
+        private InputPolicy policy;
+        private int played = 0;
+        private long moveAccumulator = 0;
+        private long overNanos = 0;
+
+        Game(int index, Board board) {
+            this.index = index;
+            this.board = board;
+            this.engine = new GameEngine(board);
+        }
+
+        void restart() {
+            long seed = BatchRunner.gameSeed(baseSeed, played * games.length + index);
+            played++;
+            policy = policyFactory.create(board.getWidth(), board.getHeight(), BatchRunner.policySeed(seed));
+            engine.start(seed);
+            moveAccumulator = 0;
+            overNanos = 0;
+            latest.set(index, board.snapshot());
+        }
+
+        void advance(long stepNanos) {
+            if (board.isGameOver()) {
+                overNanos += stepNanos;
+                if (overNanos >= RESTART_DELAY_NANOS) {
+                    restart();
+                }
+                return;
+            }
+
+            long piecesBefore = engine.getPieceCount();
+            boolean changed = false;
+            moveAccumulator += stepNanos;
+            while (moveAccumulator >= moveNanos && !board.isGameOver()) {
+                moveAccumulator -= moveNanos;
+                Input input = policy.nextInput(engine);
+                if (input == null) {
+                    engine.tick(); // a peça desce uma linha mesmo sem travar
+                    changed = true;
+                } else {
+                    changed |= engine.step(input);
+                }
+            }
+            piecesPlayed.add(engine.getPieceCount() - piecesBefore);
+            if (board.isGameOver()) {
+                gamesFinished.increment();
+                changed = true;
+            }
+            if (changed) {
+                latest.set(index, board.snapshot());
+            }
+        }
+    }
+}
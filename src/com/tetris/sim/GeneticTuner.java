@@ -0,0 +1,332 @@
+package com.tetris.sim;
+
+import com.tetris.ai.BotPolicy;
+import com.tetris.ai.HeuristicBot;
+import com.tetris.ai.HeuristicWeights;
+import com.tetris.model.PieceGenerator;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Ajusta os {@link HeuristicWeights} do bot por algoritmo genético, sem interface gráfica.
+ *
+ * A cada geração todos os indivíduos jogam as mesmas partidas (mesmas sementes) e a aptidão
+ * é a pontuação média do Board, com as linhas como desempate. Todas as partidas da geração
+ * (indivíduos x partidas) vão juntas para o ForkJoinPool, então a escala acompanha os núcleos.
+ *
+ * Ao fim de cada geração a população avaliada é gravada em {@code <dir>/generation-NNNN.properties};
+ * com {@code --resume} o ajuste continua da última geração gravada. Toda a aleatoriedade vem
+ * de (semente, geração), então retomar produz exatamente o mesmo resultado que não parar.
+ *
+ * Uso: java com.tetris.sim.GeneticTuner [--generations N] [--population P] [--games G]
+ *                                        [--max-pieces M] [--threads T] [--seed S]
+ *                                        [--generator uniform|bag] [--dir pasta] [--resume]
+ */
+public class GeneticTuner {
+
+    private static final int ELITES = 4;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_RATE = 0.2;
+    private static final double MUTATION_STEP = 0.2;
+
+    private final int populationSize;
+    private final int games;
+    private final long maxPieces;
+    private final long seed;
+    private final PieceGenerator.Kind generatorKind;
+    private final Path dir;
+
+    public GeneticTuner(int populationSize, int games, long maxPieces, long seed,
+                        PieceGenerator.Kind generatorKind, Path dir) {
+        if (populationSize <= ELITES) {
+            throw new IllegalArgumentException("A população precisa ter mais de " + ELITES + " indivíduos");
+        }
+        this.populationSize = populationSize;
+        this.games = games;
+        this.maxPieces = maxPieces;
+        this.seed = seed;
+        this.generatorKind = generatorKind;
+        this.dir = dir;
+    }
+
+    /** Aptidão de um indivíduo: médias das partidas da geração. */
+    public record Fitness(double meanScore, double meanLines) implements Comparable<Fitness> {
+        @Override
+        public int compareTo(Fitness other) {
+            int c = Double.compare(meanScore, other.meanScore);
+            return c != 0 ? c : Double.compare(meanLines, other.meanLines);
+        }
+    }
+
+    /**
+     * Executa as gerações [firstGeneration, generations), gravando um checkpoint ao fim de cada uma.
+     */
+    public HeuristicWeights run(ForkJoinPool pool, HeuristicWeights[] population, int firstGeneration, int generations)
+            throws IOException {
+        Files.createDirectories(dir);
+        HeuristicWeights best = population[0];
+        for (int generation = firstGeneration; generation < generations; generation++) {
+            long start = System.nanoTime();
+            Fitness[] fitness = evaluate(pool, population, generation);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int bestIndex = bestIndex(fitness);
+            best = population[bestIndex];
+            System.out.printf("Geração %d: melhor pontuação média=%.1f linhas=%.1f pesos=%s (%.1f partidas/s)%n",
+                    generation, fitness[bestIndex].meanScore(), fitness[bestIndex].meanLines(),
+                    Arrays.toString(best.toArray()), populationSize * games / seconds);
+
+            writeCheckpoint(generation, population, fitness);
+            population = breed(population, fitness, generation);
+        }
+        return best;
+    }
+
+    /**
+     * Joga as partidas de todos os indivíduos de uma vez no pool.
+     */
+    Fitness[] evaluate(ForkJoinPool pool, HeuristicWeights[] population, int generation) {
+        long generationSeed = BatchRunner.gameSeed(seed, generation);
+        int n = population.length;
+        long[] scores = new long[n * games];
+        long[] lines = new long[n * games];
+        pool.submit(() -> IntStream.range(0, n * games).parallel().forEach(task -> {
+            HeuristicWeights weights = population[task / games];
+            BatchRunner runner = new BatchRunner(
+                    (width, height, s) -> new BotPolicy(new HeuristicBot(width, height, weights)),
+                    maxPieces, generatorKind);
+            BatchRunner.GameResult result = runner.playGame(BatchRunner.gameSeed(generationSeed, task % games));
+            scores[task] = result.score();
+            lines[task] = result.lines();
+        })).join();
+
+        Fitness[] fitness = new Fitness[n];
+        for (int i = 0; i < n; i++) {
+            long totalScore = 0;
+            long totalLines = 0;
+            for (int g = 0; g < games; g++) {
+                totalScore += scores[i * games + g];
+                totalLines += lines[i * games + g];
+            }
+            fitness[i] = new Fitness(totalScore / (double) games, totalLines / (double) games);
+        }
+        return fitness;
+    }
+
+    /**
+     * Próxima população: os melhores passam direto; o resto nasce do cruzamento de dois
+     * vencedores de torneio, com média ponderada pela aptidão e mutação ocasional.
+     */
+    HeuristicWeights[] breed(HeuristicWeights[] population, Fitness[] fitness, int generation) {
+        SplittableRandom random = new SplittableRandom(BatchRunner.gameSeed(~seed, generation));
+        Integer[] order = new Integer[population.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> fitness[b].compareTo(fitness[a]));
+
+        HeuristicWeights[] next = new HeuristicWeights[populationSize];
+        for (int i = 0; i < ELITES; i++) {
+            next[i] = population[order[i]];
+        }
+        for (int i = ELITES; i < populationSize; i++) {
+            int a = tournament(fitness, random);
+            int b = tournament(fitness, random);
+            double[] wa = population[a].toArray();
+            double[] wb = population[b].toArray();
+            // Pesos de pontuação >= 0: evita dividir por zero quando os dois pontuaram 0
+            double fa = fitness[a].meanScore() + 1;
+            double fb = fitness[b].meanScore() + 1;
+            double[] child = new double[HeuristicWeights.SIZE];
+            for (int k = 0; k < child.length; k++) {
+                child[k] = (wa[k] * fa + wb[k] * fb) / (fa + fb);
+            }
+            if (random.nextDouble() < MUTATION_RATE) {
+                child[random.nextInt(child.length)] += (random.nextDouble() * 2 - 1) * MUTATION_STEP;
+            }
+            next[i] = normalize(child);
+        }
+        return next;
+    }
+
+    private int tournament(Fitness[] fitness, SplittableRandom random) {
+        int best = random.nextInt(fitness.length);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int candidate = random.nextInt(fitness.length);
+            if (fitness[candidate].compareTo(fitness[best]) > 0) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /** População inicial aleatória, também derivada só da semente. */
+    HeuristicWeights[] randomPopulation() {
+        SplittableRandom random = new SplittableRandom(seed);
+        HeuristicWeights[] population = new HeuristicWeights[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            double[] w = new double[HeuristicWeights.SIZE];
+            for (int k = 0; k < w.length; k++) {
+                w[k] = random.nextDouble() * 2 - 1;
+            }
+            population[i] = normalize(w);
+        }
+        return population;
+    }
+
+    // O bot só compara pontuações, então escalar os pesos não muda o jogo: fixa o vetor em norma 1
+    private static HeuristicWeights normalize(double[] w) {
+        double norm = 0;
+        for (double v : w) norm += v * v;
+        norm = Math.sqrt(norm);
+        if (norm == 0) {
+            return HeuristicWeights.DEFAULT;
+        }
+        for (int k = 0; k < w.length; k++) w[k] /= norm;
+        return HeuristicWeights.fromArray(w);
+    }
+
+    private static int bestIndex(Fitness[] fitness) {
+        int best = 0;
+        for (int i = 1; i < fitness.length; i++) {
+            if (fitness[i].compareTo(fitness[best]) > 0) best = i;
+        }
+        return best;
+    }
+
+    // --- Checkpoints ---
+
+    private void writeCheckpoint(int generation, HeuristicWeights[] population, Fitness[] fitness) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("generation", String.valueOf(generation));
+        props.setProperty("seed", String.valueOf(seed));
+        props.setProperty("games", String.valueOf(games));
+        props.setProperty("maxPieces", String.valueOf(maxPieces));
+        props.setProperty("generator", generatorKind.name());
+        props.setProperty("population", String.valueOf(population.length));
+        for (int i = 0; i < population.length; i++) {
+            props.setProperty("weights." + i, join(population[i].toArray()));
+            props.setProperty("fitness." + i, fitness[i].meanScore() + "," + fitness[i].meanLines());
+        }
+
+        // Grava num temporário e renomeia: um processo interrompido nunca deixa um checkpoint pela metade
+        Path target = dir.resolve(String.format("generation-%04d.properties", generation));
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            props.store(writer, "GeneticTuner - geração " + generation);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Último checkpoint gravado em 'dir', ou null se não houver nenhum. */
+    static Path latestCheckpoint(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        Path latest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "generation-*.properties")) {
+            for (Path file : files) {
+                if (latest == null || file.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private static Properties readCheckpoint(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return props;
+    }
+
+    private static String join(double[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    private static double[] split(String text) {
+        return Arrays.stream(text.split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int generations = 50;
+        int populationSize = 32;
+        int games = 8;
+        long maxPieces = 2_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        PieceGenerator.Kind generatorKind = PieceGenerator.Kind.UNIFORM;
+        Path dir = Paths.get("tuning");
+        boolean resume = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--generations": generations = Integer.parseInt(args[++i]); break;
+                case "--population": populationSize = Integer.parseInt(args[++i]); break;
+                case "--games": games = Integer.parseInt(args[++i]); break;
+                case "--max-pieces": maxPieces = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--generator": generatorKind = PieceGenerator.Kind.valueOf(args[++i].toUpperCase()); break;
+                case "--dir": dir = Paths.get(args[++i]); break;
+                case "--resume": resume = true; break;
+                default:
+                    System.err.println("Argumento desconhecido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        HeuristicWeights[] population = null;
+        Fitness[] fitness = null;
+        int lastGeneration = -1;
+        Path checkpoint = resume ? latestCheckpoint(dir) : null;
+        if (checkpoint != null) {
+            // Os parâmetros do checkpoint prevalecem: são eles que tornam a retomada determinística
+            Properties props = readCheckpoint(checkpoint);
+            lastGeneration = Integer.parseInt(props.getProperty("generation"));
+            seed = Long.parseLong(props.getProperty("seed"));
+            games = Integer.parseInt(props.getProperty("games"));
+            maxPieces = Long.parseLong(props.getProperty("maxPieces"));
+            generatorKind = PieceGenerator.Kind.valueOf(props.getProperty("generator"));
+            int size = Integer.parseInt(props.getProperty("population"));
+            population = new HeuristicWeights[size];
+            fitness = new Fitness[size];
+            for (int i = 0; i < size; i++) {
+                population[i] = HeuristicWeights.fromArray(split(props.getProperty("weights." + i)));
+                double[] f = split(props.getProperty("fitness." + i));
+                fitness[i] = new Fitness(f[0], f[1]);
+            }
+            populationSize = size;
+            System.out.println("Retomando de " + checkpoint + " (geração " + lastGeneration + ")");
+        } else if (resume) {
+            System.out.println("Nenhum checkpoint em " + dir + "; começando do zero");
+        }
+
+        GeneticTuner tuner = new GeneticTuner(populationSize, games, maxPieces, seed, generatorKind, dir);
+        population = population == null ? tuner.randomPopulation() : tuner.breed(population, fitness, lastGeneration);
+
+        System.out.printf("Ajustando pesos: %d gerações, população=%d, %d partidas cada, %d threads, semente=%d%n",
+                generations, populationSize, games, threads, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        HeuristicWeights best = tuner.run(pool, population, lastGeneration + 1, generations);
+        pool.shutdown();
+        System.out.println("Melhores pesos: " + Arrays.toString(best.toArray()));
+    }
+}
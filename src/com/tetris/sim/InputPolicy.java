@@ -0,0 +1,22 @@
+package com.tetris.sim;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+
+/**
+ * Estratégia que decide o próximo comando de uma partida simulada.
+ * Cada partida recebe sua própria instância, então implementações podem guardar estado.
+ */
+public interface InputPolicy {
+
+    /**
+     * @return o próximo comando, ou null para deixar a gravidade agir (um tick).
+     */
+    Input nextInput(GameEngine engine);
+
+    /** Quantas decisões de jogada a política tomou (bots); 0 se não se aplica. */
+    default long decisions() { return 0; }
+
+    /** Tempo total gasto decidindo, em nanossegundos. */
+    default long decisionNanos() { return 0; }
+}
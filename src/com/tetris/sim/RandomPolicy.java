@@ -0,0 +1,27 @@
+package com.tetris.sim;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.engine.Input;
+import java.util.SplittableRandom;
+
+/**
+ * Política que aperta teclas aleatórias, intercaladas com ticks de gravidade.
+ * Útil como teste de estresse do engine: não joga bem, mas exercita todos os caminhos.
+ */
+public class RandomPolicy implements InputPolicy {
+
+    private static final Input[] INPUTS = Input.values();
+
+    private final SplittableRandom random;
+
+    public RandomPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Input nextInput(GameEngine engine) {
+        // Uma chance em quatro de só deixar a peça cair um tick
+        int r = random.nextInt(INPUTS.length + 2);
+        return r < INPUTS.length ? INPUTS[r] : null;
+    }
+}
@@ -0,0 +1,212 @@
+package com.tetris.sim;
+
+import com.tetris.engine.GameEngine;
+import com.tetris.model.Board;
+import com.tetris.model.BoardSnapshot;
+import com.tetris.model.Orientation;
+import com.tetris.model.Shape;
+import java.util.Arrays;
+
+/**
+ * Mede como o custo do engine cresce com a largura e a altura do tabuleiro.
+ *
+ * Em cada tamanho é montada uma pilha de lixo controlada, com uma fração fixa da altura:
+ * a coluna 0 é um poço vazio até o chão e a última coluna tem um buraco nas linhas que
+ * não devem completar. Uma barra vertical encaixada no poço trava sem limpar nada, ou
+ * completa de 1 a 4 linhas, conforme quantas das linhas de baixo não têm o segundo buraco.
+ * Assim travar e limpar são medidos com a pilha inteira acima (o custo que cresce com a
+ * altura), o que jogadas de um bot não garantem.
+ *
+ * Cada operação é repetida muitas vezes, sempre partindo de um snapshot do cenário
+ * ({@link Board#restore}); só a operação entra no tempo, nunca a restauração. A queda livre
+ * é cronometrada em lotes de ticks pelo poço (vale o melhor de {@link #BATCHES} lotes); a
+ * trava e a limpeza, um tick por medida, e vale a mediana. Essas medidas individuais incluem
+ * o custo de ler o relógio, impresso no cabeçalho.
+ *
+ * Uso: java -cp bin com.tetris.sim.ScalingBenchmark [--widths 10,16,32,64]
+ *                                                   [--heights 20,100,1000,4000]
+ *                                                   [--fill 0.5] [--reps N] [--seed S]
+ */
+public class ScalingBenchmark {
+
+    /** Altura mínima: pilha de {@link #MIN_STACK} linhas mais espaço para a peça nascer. */
+    public static final int MIN_HEIGHT = 16;
+    private static final int MIN_STACK = 8;
+    private static final int SPAWN_ROOM = 8;
+    private static final int BATCHES = 5;
+
+    private static final Orientation VERTICAL_LINE = Shape.orientation(Shape.Tetrominoe.LineShape, 0);
+    private static final Shape.Tetrominoe GARBAGE = Shape.Tetrominoe.SquareShape;
+    private static final int WELL = 0;
+    // Na barra vertical, a célula de baixo fica em pieceY - maxY
+    private static final int WELL_BOTTOM_Y = VERTICAL_LINE.maxY();
+
+    /**
+     * Custos medidos num tamanho de tabuleiro (ns por operação): o tick é a média do melhor
+     * lote; a trava e as limpezas são medianas.
+     * {@code nanosPerClear[k - 1]} é a trava que completa k linhas.
+     */
+    public record Result(int width, int height, int stackRows, double nanosPerTick, double nanosPerLock,
+                         double[] nanosPerClear) { }
+
+    private final double fill;
+    private final int reps;
+    private final long seed;
+
+    public ScalingBenchmark(double fill, int reps, long seed) {
+        if (fill <= 0 || fill >= 1) {
+            throw new IllegalArgumentException("Fração da pilha fora de (0, 1): " + fill);
+        }
+        if (reps <= 0) {
+            throw new IllegalArgumentException("Repetições inválidas: " + reps);
+        }
+        this.fill = fill;
+        this.reps = reps;
+        this.seed = seed;
+    }
+
+    /**
+     * Mede um tamanho de tabuleiro.
+     * @return null se a altura não comporta a pilha (menor que {@link #MIN_HEIGHT})
+     */
+    public Result measure(int width, int height) {
+        if (height < MIN_HEIGHT) {
+            return null;
+        }
+        int stackRows = Math.max(MIN_STACK, Math.min(height - SPAWN_ROOM, (int) Math.round(fill * height)));
+
+        double tick = measureTicks(width, height, stackRows);
+        double lock = measureLock(width, height, stackRows, 0);
+        double[] clear = new double[4];
+        for (int k = 1; k <= 4; k++) {
+            clear[k - 1] = measureLock(width, height, stackRows, k);
+        }
+        return new Result(width, height, stackRows, tick, lock, clear);
+    }
+
+    // Cenário com a pilha montada e a barra em (WELL, pieceY): as 'clearing' linhas de baixo
+    // só têm o poço aberto
+    private BoardSnapshot stacked(int width, int height, int stackRows, int clearing, int pieceY) {
+        Board board = new Board(width, height);
+        board.start(seed);
+        long[] masks = new long[stackRows];
+        for (int y = 0; y < stackRows; y++) {
+            masks[y] = rowMask(width, y < clearing);
+        }
+        return board.snapshot().withStack(masks, GARBAGE, VERTICAL_LINE, WELL, pieceY);
+    }
+
+    private static long rowMask(int width, boolean clears) {
+        long full = width == 64 ? -1L : (1L << width) - 1;
+        long mask = full & ~(1L << WELL);
+        return clears ? mask : mask & ~(1L << (width - 1));
+    }
+
+    /** Queda livre: a barra desce do topo até o fundo do poço, um tick por linha. */
+    private double measureTicks(int width, int height, int stackRows) {
+        int startY = height - 1 + VERTICAL_LINE.minY(); // célula de cima na última linha
+        BoardSnapshot scenario = stacked(width, height, stackRows, 0, startY);
+        Board board = new Board(width, height);
+        GameEngine engine = new GameEngine(board);
+        int fall = startY - WELL_BOTTOM_Y;
+        int drops = Math.max(1, reps / fall);
+
+        double best = Double.MAX_VALUE;
+        for (int batch = 0; batch < BATCHES; batch++) {
+            long nanos = 0;
+            for (int d = 0; d < drops; d++) {
+                board.restore(scenario);
+                long start = System.nanoTime();
+                for (int i = 0; i < fall; i++) {
+                    engine.tick();
+                }
+                nanos += System.nanoTime() - start;
+            }
+            best = Math.min(best, nanos / (double) (drops * fall));
+        }
+        return best;
+    }
+
+    /**
+     * Trava a barra no fundo do poço completando 'clearing' linhas (0 = só trava).
+     * Cada repetição restaura o cenário e cronometra só o tick que trava; vale a mediana.
+     */
+    private double measureLock(int width, int height, int stackRows, int clearing) {
+        BoardSnapshot scenario = stacked(width, height, stackRows, clearing, WELL_BOTTOM_Y);
+        Board board = new Board(width, height);
+        GameEngine engine = new GameEngine(board);
+
+        long[] samples = new long[reps];
+        for (int r = 0; r < reps; r++) {
+            board.restore(scenario);
+            long start = System.nanoTime();
+            engine.tick(); // não cabe mais embaixo: trava
+            samples[r] = System.nanoTime() - start;
+        }
+        if (board.isGameOver() || board.getLinesCleared() != scenario.getLinesCleared() + clearing) {
+            throw new IllegalStateException("Cenário não completou " + clearing + " linhas");
+        }
+        return median(samples);
+    }
+
+    private static double median(long[] samples) {
+        Arrays.sort(samples);
+        int middle = samples.length / 2;
+        return samples.length % 2 == 1 ? samples[middle] : (samples[middle - 1] + samples[middle]) / 2.0;
+    }
+
+    /** Custo de uma medida vazia (duas leituras do relógio), mediana de muitas. */
+    private double clockOverhead() {
+        long[] samples = new long[reps];
+        for (int r = 0; r < reps; r++) {
+            long start = System.nanoTime();
+            samples[r] = System.nanoTime() - start;
+        }
+        return median(samples);
+    }
+
+    public static void main(String[] args) {
+        int[] widths = { 10, 16, 32, 64 };
+        int[] heights = { 20, 100, 1000, 4000 };
+        double fill = 0.5;
+        int reps = 20_000;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--widths": widths = parseList(args[++i]); break;
+                case "--heights": heights = parseList(args[++i]); break;
+                case "--fill": fill = Double.parseDouble(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Argumento desconhecido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        ScalingBenchmark benchmark = new ScalingBenchmark(fill, reps, seed);
+        // Aquecimento do JIT no tabuleiro padrão, descartado
+        benchmark.measure(Board.DEFAULT_WIDTH, Board.DEFAULT_HEIGHT);
+
+        System.out.printf("Relógio: %.0f ns por medida (incluído em trava e linhas)%n", benchmark.clockOverhead());
+        System.out.printf("%7s %7s %6s %9s %9s %9s %9s %9s %9s%n",
+                "largura", "altura", "pilha", "ns/tick", "ns/trava", "ns/1 lin", "ns/2 lin", "ns/3 lin", "ns/4 lin");
+        for (int width : widths) {
+            for (int height : heights) {
+                Result r = benchmark.measure(width, height);
+                if (r == null) {
+                    System.out.printf("%7d %7d   sem amostras (altura mínima %d)%n", width, height, MIN_HEIGHT);
+                    continue;
+                }
+                System.out.printf("%7d %7d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        r.width(), r.height(), r.stackRows(), r.nanosPerTick(), r.nanosPerLock(),
+                        r.nanosPerClear()[0], r.nanosPerClear()[1], r.nanosPerClear()[2], r.nanosPerClear()[3]);
+            }
+        }
+    }
+
+    private static int[] parseList(String text) {
+        return Arrays.stream(text.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
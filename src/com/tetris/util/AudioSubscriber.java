@@ -0,0 +1,55 @@
+package com.tetris.util;
+
+import com.tetris.engine.EventSubscriber;
+import com.tetris.engine.GameEvent;
+
+/**
+ * Toca a música e os efeitos sonoros a partir dos eventos do jogo,
+ * na thread do assinante: mesmo com os efeitos pré-carregados pelo {@link SoundManager},
+ * mexer nas linhas de áudio pode bloquear e nunca deve atrasar um tick.
+ *
+ * Acompanha pelos eventos se a música deveria estar tocando (no menu ou com a partida em
+ * andamento), para saber se volta com ela quando o som é religado.
+ */
+public class AudioSubscriber implements EventSubscriber {
+
+    private static final String MUSIC = "tetris_theme.wav";
+
+    private boolean musicWanted = false; // só a thread do assinante mexe
+
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.type()) {
+            case MENU_SHOWN:
+            case GAME_STARTED:
+            case GAME_RESUMED:
+                musicWanted = true;
+                SoundManager.playMusic(MUSIC); // já para a anterior
+                break;
+            case GAME_PAUSED:
+                musicWanted = false;
+                SoundManager.stopMusic();
+                break;
+            case SOUND_TOGGLED:
+                if (event.isSoundEnabled() && musicWanted) {
+                    SoundManager.playMusic(MUSIC);
+                } else {
+                    SoundManager.stopMusic();
+                }
+                break;
+            case PIECE_ROTATED:
+                SoundManager.playSound("rotate.wav");
+                break;
+            case LINES_CLEARED:
+                SoundManager.playSound("line_clear.wav");
+                break;
+            case GAME_OVER:
+                musicWanted = false;
+                SoundManager.stopMusic();
+                SoundManager.playSound("game_over.wav");
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tetris.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Lê e grava o recorde em 'highscore.txt'.
+ * Fica fora do Board para que o modelo não faça I/O de disco.
+ */
+public class HighScoreStore {
+
+    private static final String HIGHSCORE_FILE = "highscore.txt";
+
+    public static int load() {
+        try (BufferedReader reader = new BufferedReader(new FileReader(HIGHSCORE_FILE))) {
+            return Integer.parseInt(reader.readLine());
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static void save(int highScore) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(HIGHSCORE_FILE))) {
+            writer.write(String.valueOf(highScore));
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar o high score: " + e.getMessage());
+        }
+    }
+}
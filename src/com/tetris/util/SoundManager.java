@@ -1,68 +1,250 @@
 package com.tetris.util;
 
-import java.net.URL;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.sound.sampled.*;
 
+/**
+ * Música e efeitos sonoros.
+ *
+ * Os efeitos são decodificados uma única vez ({@link #preload()}, ou na primeira vez que
+ * um som é pedido) para PCM, e cada um ganha alguns {@link Clip}s já abertos com esse PCM.
+ * Tocar um efeito é só voltar um clip livre ao início e dar start: nada de procurar o
+ * recurso, decodificar o WAV ou pedir uma linha nova ao sistema a cada rotação.
+ *
+ * No máximo {@link #MAX_VOICES} efeitos tocam ao mesmo tempo. Se todos os clips de um
+ * efeito estiverem tocando (rotações seguidas), o mais antigo recomeça; se o limite geral
+ * foi atingido por outros efeitos, o som novo é descartado. {@link #shutdown()} fecha todas
+ * as linhas.
+ */
 public class SoundManager {
 
+    private static final String SOUNDS_DIR = "com/tetris/view/resources/sounds/";
+    private static final String MUSIC_DIR = "com/tetris/view/resources/music/";
+    private static final String[] EFFECTS = { "rotate.wav", "line_clear.wav", "game_over.wav" };
+
+    public static final int MAX_VOICES = 6;
+    private static final int VOICES_PER_EFFECT = 3;
+
+    /** Um clip aberto com o PCM de um efeito e quando ele começou a tocar pela última vez. */
+    private static final class Voice {
+        final Clip clip;
+        long startedNanos;
+
+        Voice(Clip clip) {
+            this.clip = clip;
+        }
+    }
+
+    // Os campos abaixo são protegidos pelo lock da classe. Sob o lock só se mexe em clips já
+    // abertos; decodificar e abrir linhas acontece fora dele, para ninguém esperar por isso
+    private static final Map<String, Voice[]> effects = new LinkedHashMap<>();
+    private static boolean closed = false;
+    private static long droppedSounds = 0;
+
     private static Clip backgroundMusic;
+    private static String backgroundMusicFile;
 
-    private static boolean soundEnabled = true; // 🔊 sons ativados por padrão
+    private static volatile boolean loaded = false;
+    private static volatile boolean soundEnabled = true; // 🔊 sons ativados por padrão
 
+    /**
+     * Só troca o flag: pode ser chamado da thread da simulação. Quem chama publica
+     * SOUND_TOGGLED para a música parar ou voltar na thread do áudio.
+     */
     public static void toggleSound() {
         soundEnabled = !soundEnabled;
-        if (!soundEnabled) {
-            stopMusic();
-            System.out.println("🔇 Sons desativados");
-        } else {
-            System.out.println("🔊 Sons ativados");
-        }
+        System.out.println(soundEnabled ? "🔊 Sons ativados" : "🔇 Sons desativados");
     }
 
     public static boolean isSoundEnabled() {
         return soundEnabled;
     }
 
+    /**
+     * Decodifica todos os efeitos e abre as linhas. Chamado na inicialização; chamadas
+     * seguintes não fazem nada.
+     */
+    public static void preload() {
+        if (loaded) return;
+        Map<String, Voice[]> opened = new LinkedHashMap<>();
+        for (String name : EFFECTS) {
+            try {
+                Pcm pcm = decode(SOUNDS_DIR + name);
+                if (pcm == null) {
+                    System.out.println("Som não encontrado: sounds/" + name);
+                    continue;
+                }
+                Voice[] voices = new Voice[VOICES_PER_EFFECT];
+                opened.put(name, voices); // antes de abrir, para o catch fechar o que já abriu
+                for (int i = 0; i < voices.length; i++) {
+                    Clip clip = AudioSystem.getClip();
+                    voices[i] = new Voice(clip);
+                    clip.open(pcm.format(), pcm.data(), 0, pcm.data().length);
+                }
+            } catch (Exception e) {
+                // Sem dispositivo de áudio não adianta tentar os outros
+                System.out.println("Erro ao carregar som " + name + ": " + e.getMessage());
+                close(opened);
+                opened.clear();
+                break;
+            }
+        }
+        synchronized (SoundManager.class) {
+            if (loaded || closed) {
+                close(opened); // outra thread chegou antes, ou já saímos
+                return;
+            }
+            effects.putAll(opened);
+            loaded = true;
+        }
+    }
 
     // 🔊 Toca efeitos curtos (pontuação, linha, etc.)
     public static void playSound(String soundFile) {
-        try {
-            URL soundURL = SoundManager.class.getClassLoader().getResource("com/tetris/view/resources/sounds/" + soundFile);
-            if (soundURL == null) {
-                System.out.println("Som não encontrado: sounds/" + soundFile);
+        if (!soundEnabled) return;
+        preload();
+        synchronized (SoundManager.class) {
+            Voice[] voices = effects.get(soundFile);
+            if (closed || voices == null) {
+                return; // não carregou (já avisado no preload)
+            }
+
+            Voice free = null;
+            Voice oldest = null;
+            for (Voice voice : voices) {
+                if (!voice.clip.isRunning()) {
+                    if (free == null) free = voice;
+                } else if (oldest == null || voice.startedNanos < oldest.startedNanos) {
+                    oldest = voice;
+                }
+            }
+            Voice chosen;
+            if (free != null && activeVoices() < MAX_VOICES) {
+                chosen = free;
+            } else if (oldest != null) {
+                chosen = oldest; // reaproveita a voz mais antiga deste mesmo efeito
+                chosen.clip.stop();
+            } else {
+                droppedSounds++;
                 return;
             }
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundURL);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
-            clip.start();
-        } catch (Exception e) {
-            System.out.println("Erro ao tocar som: " + e.getMessage());
+            chosen.clip.setFramePosition(0);
+            chosen.clip.start();
+            chosen.startedNanos = System.nanoTime();
         }
     }
 
     // 🎵 Toca música de fundo em loop
     public static void playMusic(String musicFile) {
-        stopMusic();
+        synchronized (SoundManager.class) {
+            stopMusic();
+            if (!soundEnabled || closed) return;
+            // Mesma música: reaproveita o clip já aberto e recomeça do início
+            if (backgroundMusic != null && musicFile.equals(backgroundMusicFile)) {
+                backgroundMusic.setFramePosition(0);
+                backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+                return;
+            }
+        }
+
+        // Música nova: decodifica e abre fora do lock, depois troca o clip
+        Clip clip;
         try {
-            URL musicURL = SoundManager.class.getClassLoader().getResource("com/tetris/view/resources/music/" + musicFile);
-            if (musicURL == null) {
+            Pcm pcm = decode(MUSIC_DIR + musicFile);
+            if (pcm == null) {
                 System.out.println("Música não encontrada: music/" + musicFile);
                 return;
             }
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(musicURL);
-            backgroundMusic = AudioSystem.getClip();
-            backgroundMusic.open(audioStream);
-            backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+            clip = AudioSystem.getClip();
+            clip.open(pcm.format(), pcm.data(), 0, pcm.data().length);
         } catch (Exception e) {
             System.out.println("Erro ao tocar música: " + e.getMessage());
+            return;
+        }
+
+        Clip previous;
+        synchronized (SoundManager.class) {
+            if (closed || !soundEnabled) {
+                previous = clip; // desligaram o som enquanto abria: descarta
+            } else {
+                previous = backgroundMusic;
+                if (previous != null) previous.stop();
+                backgroundMusic = clip;
+                backgroundMusicFile = musicFile;
+                clip.loop(Clip.LOOP_CONTINUOUSLY);
+            }
+        }
+        if (previous != null) {
+            previous.close();
         }
     }
 
     // ⏹️ Parar música
-    public static void stopMusic() {
+    public static synchronized void stopMusic() {
         if (backgroundMusic != null && backgroundMusic.isRunning()) {
             backgroundMusic.stop();
         }
     }
+
+    /** Fecha todas as linhas de áudio; depois disso nenhum som toca. */
+    public static synchronized void shutdown() {
+        if (closed) return;
+        closed = true;
+        if (backgroundMusic != null) {
+            backgroundMusic.close();
+            backgroundMusic = null;
+            backgroundMusicFile = null;
+        }
+        close(effects);
+        effects.clear();
+        if (droppedSounds > 0) {
+            System.out.println("🔈 Efeitos descartados pelo limite de " + MAX_VOICES + " vozes: " + droppedSounds);
+        }
+    }
+
+    private static int activeVoices() {
+        int active = 0;
+        for (Voice[] voices : effects.values()) {
+            for (Voice voice : voices) {
+                if (voice.clip.isRunning()) active++;
+            }
+        }
+        return active;
+    }
+
+    private static void close(Map<String, Voice[]> voicesByEffect) {
+        for (Voice[] voices : voicesByEffect.values()) {
+            for (Voice voice : voices) {
+                if (voice != null) voice.clip.close();
+            }
+        }
+    }
+
+    /** Áudio já decodificado: o formato e as amostras. */
+    private record Pcm(AudioFormat format, byte[] data) { }
+
+    // Lê o recurso inteiro, convertendo para PCM linear se o arquivo vier comprimido
+    private static Pcm decode(String resource) throws IOException, UnsupportedAudioFileException {
+        InputStream raw = SoundManager.class.getClassLoader().getResourceAsStream(resource);
+        if (raw == null) {
+            return null;
+        }
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(raw))) {
+            AudioFormat format = source.getFormat();
+            AudioInputStream pcm = source;
+            if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                    && !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding())) {
+                AudioFormat target = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                        format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+                pcm = AudioSystem.getAudioInputStream(target, source);
+            }
+            try (AudioInputStream in = pcm) {
+                return new Pcm(in.getFormat(), in.readAllBytes());
+            }
+        }
+    }
 }
@@ -0,0 +1,265 @@
+package com.tetris.view;
+
+import com.tetris.engine.LatencyHistogram;
+import com.tetris.engine.Pacer;
+import com.tetris.model.BoardState;
+import com.tetris.model.DirtyRegion;
+import com.tetris.model.Theme;
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renderização ativa: uma thread própria desenha o tabuleiro e o painel de informações
+ * num {@link Canvas} com {@link BufferStrategy}, num ritmo fixo (ou sem limite, para medir),
+ * sem passar pelo RepaintManager do Swing.
+ *
+ * O desenho é o mesmo do modo normal: a thread tem as suas instâncias de {@link BoardPanel}
+ * e {@link InfoPanel}, fora da hierarquia do Swing, usadas só como desenhistas. Os estados
+ * chegam por {@link #submit}, de qualquer thread; cada quadro usa o mais recente.
+ *
+ * Ritmo ({@link Pacer}): cada quadro tem um prazo (início + n * período). Se desenhar e
+ * apresentar um quadro passar de um ou mais prazos seguintes, esses quadros contam como
+ * descartados e o próximo prazo é o primeiro ainda no futuro, sem tentar "correr atrás".
+ */
+public class ActiveRenderer extends Canvas {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    // Duração de cada quadro em faixas de 50 µs até 250 ms
+    private static final long FRAME_BUCKET_NANOS = 50_000;
+    private static final int FRAME_BUCKETS = 5_000;
+    // Latência tecla → tela, nas mesmas faixas
+    private static final long LATENCY_BUCKET_NANOS = 50_000;
+    private static final int LATENCY_BUCKETS = 5_000;
+
+    /** Estado a desenhar, as células travadas que mudaram e o horário da tecla mais antiga. */
+    private record Pending(BoardState state, DirtyRegion lockedDirty, long inputNanos) { }
+
+    private final BoardPanel boardRenderer;
+    private final InfoPanel infoRenderer;
+    private final int boardWidth;
+    private final int boardHeight;
+    private boolean hasState = false; // só na thread de renderização
+    private final Pacer pacer; // null = sem limite
+    private final int targetFps;
+
+    private final AtomicReference<Pending> pending = new AtomicReference<>();
+    private volatile Theme theme;
+    private volatile boolean rendering = false;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Estatísticas: escritas só pela thread de renderização
+    private final LatencyHistogram frameTimes = new LatencyHistogram(FRAME_BUCKET_NANOS, FRAME_BUCKETS);
+    private final LatencyHistogram inputToFrame = new LatencyHistogram(LATENCY_BUCKET_NANOS, LATENCY_BUCKETS);
+    private long frames = 0;
+    private long droppedFrames = 0;
+    private long sessionStart = 0;
+
+    /**
+     * @param targetFps quadros por segundo; 0 desenha sem limite (benchmark)
+     */
+    public ActiveRenderer(int columns, int rows, int targetFps, Dimension size) {
+        if (targetFps < 0) {
+            throw new IllegalArgumentException("FPS inválido: " + targetFps);
+        }
+        this.targetFps = targetFps;
+        this.pacer = targetFps == 0 ? null : new Pacer(TimeUnit.SECONDS.toNanos(1) / targetFps);
+        this.boardRenderer = new BoardPanel(columns, rows);
+        this.infoRenderer = new InfoPanel();
+        this.theme = Theme.AVAILABLE_THEMES[0];
+
+        Dimension boardSize = boardRenderer.getPreferredSize();
+        this.boardWidth = boardSize.width;
+        this.boardHeight = boardSize.height;
+        boardRenderer.setSize(boardSize);
+        infoRenderer.setSize(Math.max(1, size.width - boardWidth), size.height);
+
+        setPreferredSize(size);
+        setIgnoreRepaint(true); // quem desenha é a thread, não o AWT
+        setFocusable(false);    // as teclas continuam no GamePanel
+    }
+
+    /**
+     * FPS padrão: a taxa de atualização do monitor, ou 60 se ela for desconhecida.
+     */
+    public static int displayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 60;
+        }
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDisplayMode().getRefreshRate();
+        return rate > 0 ? rate : 60;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(2);
+        boardRenderer.setRenderTarget(getGraphicsConfiguration());
+    }
+
+    /** Inicia a thread de renderização (ela fica parada até {@link #setRendering(boolean)}). */
+    public synchronized void start() {
+        if (thread != null) return;
+        running = true;
+        thread = new Thread(this::run, "renderizacao");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+            try {
+                t.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Liga/desliga o desenho (o canvas só é mostrado durante a partida). Ao desligar,
+     * a thread imprime o resumo da sessão.
+     */
+    public void setRendering(boolean enabled) {
+        rendering = enabled;
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    public boolean isRendering() {
+        return rendering;
+    }
+
+    /**
+     * Entrega um novo estado. Se o anterior ainda não foi desenhado, o novo o substitui
+     * herdando as células sujas e o horário de tecla mais antigo.
+     */
+    public void submit(BoardState state, DirtyRegion lockedDirty, long inputNanos) {
+        while (true) {
+            Pending previous = pending.get();
+            Pending next;
+            if (previous == null) {
+                next = new Pending(state, lockedDirty, inputNanos);
+            } else {
+                DirtyRegion merged = new DirtyRegion();
+                merged.add(previous.lockedDirty());
+                merged.add(lockedDirty);
+                long oldest = previous.inputNanos() == 0 ? inputNanos
+                        : inputNanos == 0 ? previous.inputNanos() : Math.min(inputNanos, previous.inputNanos());
+                next = new Pending(state, merged, oldest);
+            }
+            if (pending.compareAndSet(previous, next)) {
+                return;
+            }
+        }
+    }
+
+    public void setTheme(Theme theme) {
+        this.theme = theme;
+    }
+
+    private void run() {
+        boolean wasRendering = false;
+        while (running) {
+            if (!rendering || !isDisplayable() || getBufferStrategy() == null) {
+                if (wasRendering) {
+                    printSession();
+                    wasRendering = false;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (!wasRendering) {
+                wasRendering = true;
+                frames = droppedFrames = 0;
+                frameTimes.reset();
+                inputToFrame.reset();
+                sessionStart = System.nanoTime();
+                if (pacer != null) {
+                    pacer.start(sessionStart);
+                }
+            }
+
+            long start = System.nanoTime();
+            boolean presented = renderFrame();
+            long end = System.nanoTime();
+            if (presented) {
+                frames++;
+                frameTimes.record(end - start);
+            }
+
+            if (pacer != null) {
+                droppedFrames += pacer.awaitNext();
+            }
+        }
+    }
+
+    /** @return true se um quadro foi apresentado (false enquanto nenhum estado chegou) */
+    private boolean renderFrame() {
+        Theme current = theme;
+        boardRenderer.updateTheme(current);
+        infoRenderer.updateTheme(current);
+
+        long inputNanos = 0;
+        Pending next = pending.getAndSet(null);
+        if (next != null) {
+            boardRenderer.applyState(next.state(), next.lockedDirty());
+            infoRenderer.setState(next.state());
+            inputNanos = next.inputNanos();
+            hasState = true;
+        }
+        if (!hasState) {
+            return false;
+        }
+
+        BufferStrategy strategy = getBufferStrategy();
+        // O BufferStrategy pode perder o conteúdo (troca de modo, tela bloqueada): repete o quadro
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    if (getHeight() > boardHeight) {
+                        // Sobra abaixo do tabuleiro quando o painel lateral é mais alto
+                        g.setColor(current.uiBackground());
+                        g.fillRect(0, boardHeight, boardWidth, getHeight() - boardHeight);
+                    }
+                    boardRenderer.render(g);
+                    g.translate(boardWidth, 0);
+                    infoRenderer.render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+
+        if (inputNanos != 0) {
+            inputToFrame.record(System.nanoTime() - inputNanos);
+        }
+        return true;
+    }
+
+    private void printSession() {
+        double seconds = (System.nanoTime() - sessionStart) / 1e9;
+        System.out.printf("🎞 Renderização ativa (%s): %d quadros, %.1f fps, %d descartados, tempo por quadro: %s%n",
+                targetFps == 0 ? "sem limite" : targetFps + " fps", frames, frames / Math.max(seconds, 1e-9),
+                droppedFrames, frameTimes.describe());
+        if (inputToFrame.getCount() > 0) {
+            System.out.println("⌨ Tecla → tela (renderização ativa): " + inputToFrame.describe());
+        }
+    }
+}
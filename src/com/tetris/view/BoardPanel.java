@@ -1,7 +1,9 @@
 package com.tetris.view;
 
 import com.tetris.model.Board;
-import com.tetris.model.Piece;
+import com.tetris.model.BoardState;
+import com.tetris.model.DirtyRegion;
+import com.tetris.model.Orientation;
 import com.tetris.model.Shape;
 import com.tetris.model.Theme;
 
@@ -9,50 +11,354 @@ import javax.swing.JPanel;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+import java.util.function.LongConsumer;
 
 /**
  * Painel responsável por desenhar o tabuleiro de jogo e as peças.
  * Esta é uma classe puramente visual (View).
+ *
+ * O fundo, a grade, a linha de game over e as peças travadas ficam numa camada estática
+ * fora da tela (VolatileImage, acelerada quando possível), refeita só onde algo travou ou
+ * foi limpo, e por inteiro ao trocar de tema ou rolar a vista. Cada quadro é uma cópia dessa
+ * camada mais os sprites ({@link TileSprites}) da fantasma e da peça atual.
  */
 public class BoardPanel extends JPanel {
 
-    private Board board;
+    private static final int MAX_SQUARE_SIZE = 40;
+    private static final int MIN_SQUARE_SIZE = 4;
+    private static final int MIN_GRID_SQUARE_SIZE = 8; // abaixo disso a grade só polui
+    // Espaço da tela reservado para a borda da janela e a barra de tarefas
+    private static final int SCREEN_MARGIN = 80;
+    private static final Color GAME_OVER_LINE = new Color(255, 0, 0, 128);
+
+    private BoardState board;
     private Theme currentTheme;
+    private TileSprites sprites;
+
+    // Camada estática e o que falta refazer nela
+    private VolatileImage staticLayer;
+    private boolean staticLayerValid = false;
+    private final DirtyRegion staticLayerDirty = new DirtyRegion();
+    private GraphicsConfiguration renderTarget;
+
+    private final int columns;
+    private final int rows;
+    private final int squareSize;
+    // Linhas desenhadas de uma vez; em poços mais altos que a tela a vista acompanha a peça
+    private final int visibleRows;
+    private int viewBottom = 0;
+
+    // Faixa de células dentro do clip do paint atual (limites inclusivos)
+    private int clipColumnFrom;
+    private int clipColumnTo;
+    private int clipRowFrom;
+    private int clipRowTo;
+    private final DirtyRegion pieceRegion = new DirtyRegion();
+    private final DirtyRegion ghostRegion = new DirtyRegion();
+
+    // Latência tecla → tela: horário da tecla mais antiga ainda não desenhada (0 = nenhuma)
+    private long pendingInputNanos = 0;
+    private LongConsumer framePresentedListener;
 
     public BoardPanel() {
+        this(Board.DEFAULT_WIDTH, Board.DEFAULT_HEIGHT);
+    }
+
+    public BoardPanel(int columns, int rows) {
         this.currentTheme = Theme.AVAILABLE_THEMES[0];
-        setPreferredSize(new Dimension(getSquareSize() * Board.BOARD_WIDTH, getSquareSize() * Board.BOARD_HEIGHT));
+        this.columns = columns;
+        this.rows = rows;
+
+        Rectangle screen = GraphicsEnvironment.isHeadless()
+                ? new Rectangle(0, 0, 1920, 1080)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        int available = Math.max(MIN_SQUARE_SIZE, screen.height - SCREEN_MARGIN);
+        int fitted = Math.min(available / rows, (screen.width - SCREEN_MARGIN) / 2 / columns);
+        this.squareSize = Math.max(MIN_SQUARE_SIZE, Math.min(MAX_SQUARE_SIZE, fitted));
+        this.visibleRows = Math.min(rows, available / squareSize);
+        this.sprites = TileSprites.of(currentTheme, squareSize);
+        setPreferredSize(new Dimension(squareSize * columns, squareSize * visibleRows));
     }
 
-    public void updateBoard(Board board) {
+    /** Troca o estado exibido e redesenha o tabuleiro inteiro. */
+    public void updateBoard(BoardState board) {
         this.board = board;
+        updateViewport();
+        staticLayerValid = false;
+        repaint();
+    }
+
+    /**
+     * Troca o estado exibido redesenhando só o que mudou: as células travadas em
+     * {@code lockedDirty} e as posições antiga e nova da peça e da fantasma. Início, fim de
+     * jogo, fantasma ligada/desligada e rolagem da vista redesenham tudo.
+     *
+     * Cada retângulo é pintado na hora, separado: pedidos de repaint() seriam unidos pelo
+     * RepaintManager num único retângulo envolvente (da peça no topo até a fantasma no fundo).
+     */
+    public void updateBoard(BoardState next, DirtyRegion lockedDirty) {
+        BoardState previous = this.board;
+        if (applyState(next, lockedDirty) || !isShowing()) {
+            repaint();
+            return;
+        }
+
+        paintCells(lockedDirty);
+
+        pieceRegion.clear();
+        addPieceCells(pieceRegion, previous, previous.getCurrentY());
+        addPieceCells(pieceRegion, next, next.getCurrentY());
+        paintCells(pieceRegion);
+
+        if (next.isGhostPieceEnabled()) {
+            ghostRegion.clear();
+            addPieceCells(ghostRegion, previous, previous.getGhostPieceY());
+            addPieceCells(ghostRegion, next, next.getGhostPieceY());
+            paintCells(ghostRegion);
+        }
+        // Se nada foi pintado a tecla não mudou a tela: não há quadro para medir
+        pendingInputNanos = 0;
+    }
+
+    /**
+     * Troca o estado exibido sem pintar nada, só atualizando a vista e a camada estática.
+     * Usado direto pelo {@link ActiveRenderer}, que redesenha o quadro inteiro toda vez.
+     * @return true se o quadro inteiro mudou (início, fim, fantasma, rolagem)
+     */
+    public boolean applyState(BoardState next, DirtyRegion lockedDirty) {
+        BoardState previous = this.board;
+        int previousBottom = viewBottom;
+        this.board = next;
+        updateViewport();
+        boolean full = previous == null
+                || previous.isStarted() != next.isStarted()
+                || previous.isGameOver() != next.isGameOver()
+                || previous.isGhostPieceEnabled() != next.isGhostPieceEnabled()
+                || viewBottom != previousBottom;
+        if (full) {
+            staticLayerValid = false;
+        } else if (lockedDirty != null) {
+            staticLayerDirty.add(lockedDirty);
+        }
+        return full;
+    }
+
+    /**
+     * Superfície onde o painel é desenhado quando não está na hierarquia do Swing
+     * (modo ativo); a camada estática é criada compatível com ela.
+     */
+    public void setRenderTarget(GraphicsConfiguration target) {
+        this.renderTarget = target;
+    }
+
+    // Retângulo ocupado pela peça atual de 'state' se estivesse na linha 'pieceY'
+    private static void addPieceCells(DirtyRegion region, BoardState state, int pieceY) {
+        Orientation piece = state.getCurrentOrientation();
+        if (!state.isStarted() || piece.shape() == Shape.Tetrominoe.NoShape) {
+            return;
+        }
+        int x = state.getCurrentX();
+        region.add(x + piece.minX(), pieceY - piece.maxY(), x + piece.maxX(), pieceY - piece.minY());
+    }
+
+    // Pinta imediatamente as células da região que estão na vista
+    private void paintCells(DirtyRegion region) {
+        Rectangle bounds = cellBounds(region);
+        if (bounds != null) {
+            paintImmediately(bounds);
+        }
+    }
+
+    // Retângulo na tela das células da região que estão na vista (null se nenhuma)
+    private Rectangle cellBounds(DirtyRegion region) {
+        if (region == null || region.isEmpty()) {
+            return null;
+        }
+        int fromY = Math.max(region.getMinY(), viewBottom);
+        int toY = Math.min(region.getMaxY(), viewBottom + visibleRows - 1);
+        int fromX = Math.max(region.getMinX(), 0);
+        int toX = Math.min(region.getMaxX(), columns - 1);
+        if (fromY > toY || fromX > toX) {
+            return null;
+        }
+        return new Rectangle(fromX * squareSize, screenY(toY),
+                (toX - fromX + 1) * squareSize, (toY - fromY + 1) * squareSize);
     }
 
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
+        if (theme != currentTheme) {
+            this.currentTheme = theme;
+            this.sprites = TileSprites.of(theme, squareSize);
+            staticLayerValid = false;
+            repaint();
+        }
+    }
+
+    /**
+     * Marca que o próximo quadro desenhado reflete uma tecla pressionada em {@code inputNanos}
+     * ({@link System#nanoTime()}).
+     */
+    public void markInput(long inputNanos) {
+        if (pendingInputNanos == 0 || inputNanos < pendingInputNanos) {
+            pendingInputNanos = inputNanos;
+        }
+    }
+
+    /**
+     * Recebe a latência (ns) entre a tecla e o fim do desenho do quadro que a mostra.
+     */
+    public void setFramePresentedListener(LongConsumer listener) {
+        this.framePresentedListener = listener;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
         if (board == null) {
+            super.paintComponent(g);
+            return;
+        }
+
+        render(g);
+
+        if (pendingInputNanos != 0 && framePresentedListener != null) {
+            // O Swing não informa o vsync: o melhor que dá é esvaziar o pipeline do Toolkit
+            Toolkit.getDefaultToolkit().sync();
+            framePresentedListener.accept(System.nanoTime() - pendingInputNanos);
+        }
+        pendingInputNanos = 0;
+    }
+
+    /**
+     * Desenha o quadro (ou a parte dele dentro do clip): a camada estática e, por cima,
+     * a fantasma e a peça atual. Precisa de um estado já aplicado.
+     */
+    public void render(Graphics g) {
+        drawStaticLayer(g);
+
+        updateClip(g);
+        // Desenha a peça fantasma antes da peça real
+        drawGhostPiece(g); 
+        drawCurrentPiece(g);
+    }
+
+    /**
+     * Copia a camada estática para a tela, refazendo antes o que estiver desatualizado.
+     * A VolatileImage pode perder o conteúdo (troca de modo de vídeo, tela bloqueada):
+     * nesse caso ela é refeita inteira e a cópia repetida.
+     */
+    private void drawStaticLayer(Graphics g) {
+        GraphicsConfiguration gc = renderTarget != null ? renderTarget : getGraphicsConfiguration();
+        int width = getWidth();
+        int height = getHeight();
+        if (gc == null || width <= 0 || height <= 0) {
+            // Sem tela (ainda): desenha direto
+            Rectangle clip = g.getClipBounds();
+            renderStaticLayer((Graphics2D) g, clip != null ? clip : new Rectangle(0, 0, width, height));
             return;
         }
+        do {
+            int status = staticLayer == null ? VolatileImage.IMAGE_INCOMPATIBLE : staticLayer.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE
+                    || staticLayer.getWidth() != width || staticLayer.getHeight() != height) {
+                if (staticLayer != null) {
+                    staticLayer.flush();
+                }
+                staticLayer = gc.createCompatibleVolatileImage(width, height);
+                staticLayerValid = false;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                staticLayerValid = false;
+            }
+            updateStaticLayer();
+            g.drawImage(staticLayer, 0, 0, null);
+        } while (staticLayer.contentsLost());
+    }
 
+    private void updateStaticLayer() {
+        Rectangle area;
+        if (!staticLayerValid) {
+            area = new Rectangle(0, 0, staticLayer.getWidth(), staticLayer.getHeight());
+        } else {
+            area = cellBounds(staticLayerDirty);
+            if (area == null) {
+                staticLayerDirty.clear();
+                return;
+            }
+        }
+        Graphics2D lg = staticLayer.createGraphics();
+        try {
+            renderStaticLayer(lg, area);
+        } finally {
+            lg.dispose();
+        }
+        staticLayerValid = true;
+        staticLayerDirty.clear();
+    }
+
+    // Fundo, grade, linha de game over e peças travadas dentro de 'area'
+    private void renderStaticLayer(Graphics2D g, Rectangle area) {
+        g.setClip(area);
+        updateClip(g);
         drawBoardBackground(g);
         drawGrid(g);
         drawGameOverLine(g);
         drawPlacedPieces(g);
-        
-        // Desenha a peça fantasma antes da peça real
-        drawGhostPiece(g); 
-        drawCurrentPiece(g);
+    }
+
+    /**
+     * Escolhe a primeira linha visível: em poços que não cabem na tela,
+     * centraliza a peça atual (ou a pilha, se não houver peça).
+     */
+    private void updateViewport() {
+        if (visibleRows >= rows) {
+            viewBottom = 0;
+            return;
+        }
+        int focus = board.isStarted() && board.getCurrentOrientation().shape() != Shape.Tetrominoe.NoShape
+                ? board.getCurrentY()
+                : board.getStackHeight();
+        viewBottom = Math.max(0, Math.min(rows - visibleRows, focus - visibleRows / 2));
+    }
+
+    // Converte o clip do Graphics em colunas e linhas do tabuleiro: o resto nem é percorrido
+    private void updateClip(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int top = viewBottom + visibleRows - 1;
+        clipColumnFrom = Math.max(0, clip.x / squareSize);
+        clipColumnTo = Math.min(columns - 1, (clip.x + clip.width - 1) / squareSize);
+        clipRowFrom = Math.max(viewBottom, top - (clip.y + clip.height - 1) / squareSize);
+        clipRowTo = Math.min(top, top - clip.y / squareSize);
+    }
+
+    // Posição na tela da linha 'y' do tabuleiro
+    private int screenY(int y) {
+        return (viewBottom + visibleRows - 1 - y) * squareSize;
+    }
+
+    private boolean isVisible(int y) {
+        return y >= clipRowFrom && y <= clipRowTo;
+    }
+
+    private boolean isVisibleColumn(int x) {
+        return x >= clipColumnFrom && x <= clipColumnTo;
     }
 
     private void drawBoardBackground(Graphics g) {
         g.setColor(currentTheme.boardBackground());
-        g.fillRect(0, 0, getWidth(), getHeight());
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        } else {
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
     }
 
     /**
@@ -60,49 +366,58 @@ public class BoardPanel extends JPanel {
      * game over acontece (quando uma nova peça não consegue ser posicionada).
      */
     private void drawGameOverLine(Graphics g) {
-        int squareSize = getSquareSize();
         // Uma nova peça começa no topo + minY(); se não couber ali = game over
-        int gameOverY = Board.BOARD_HEIGHT - 2; // 2 blocos mais abaixo
-        int y = (Board.BOARD_HEIGHT - 1 - gameOverY) * squareSize;
+        int gameOverY = rows - 2; // 2 blocos mais abaixo
+        // Não usa isVisible(): a faixa cruza a borda da linha e o clip cuida do resto
+        if (gameOverY < viewBottom || gameOverY >= viewBottom + visibleRows) {
+            return;
+        }
+        int y = screenY(gameOverY);
 
-        // Cria uma linha vermelha semi-transparente
-        Color redLine = new Color(255, 0, 0, 128);
-        g.setColor(redLine);
+        // Linha vermelha semi-transparente
+        g.setColor(GAME_OVER_LINE);
         g.fillRect(0, y - 2, getWidth(), 4);
     }
 
     private void drawGrid(Graphics g) {
+        if (squareSize < MIN_GRID_SQUARE_SIZE) {
+            return;
+        }
         g.setColor(currentTheme.grid());
-        int squareSize = getSquareSize();
-        for (int i = 0; i <= Board.BOARD_WIDTH; i++) {
-            g.drawLine(i * squareSize, 0, i * squareSize, getHeight());
+        int top = viewBottom + visibleRows - 1;
+        int fromRow = top - clipRowTo;   // linhas da tela, de cima para baixo
+        int toRow = top - clipRowFrom + 1;
+        int x0 = clipColumnFrom * squareSize;
+        int x1 = (clipColumnTo + 1) * squareSize;
+        for (int i = clipColumnFrom; i <= clipColumnTo + 1; i++) {
+            g.drawLine(i * squareSize, fromRow * squareSize, i * squareSize, toRow * squareSize);
         }
-        for (int i = 0; i <= Board.BOARD_HEIGHT; i++) {
-            g.drawLine(0, i * squareSize, getWidth(), i * squareSize);
+        for (int i = fromRow; i <= toRow; i++) {
+            g.drawLine(x0, i * squareSize, x1, i * squareSize);
         }
     }
 
     private void drawPlacedPieces(Graphics g) {
-        int squareSize = getSquareSize();
-        for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
-            for (int j = 0; j < Board.BOARD_WIDTH; j++) {
+        int top = Math.min(clipRowTo + 1, board.getStackHeight());
+        for (int i = clipRowFrom; i < top; i++) {
+            if (board.rowMask(i) == 0L) continue; // linha vazia, nada a desenhar
+            for (int j = clipColumnFrom; j <= clipColumnTo; j++) {
                 Shape.Tetrominoe shape = board.shapeAt(j, i);
                 if (shape != Shape.Tetrominoe.NoShape) {
-                    drawSquare(g, j * squareSize, (Board.BOARD_HEIGHT - 1 - i) * squareSize, shape, false);
+                    drawSquare(g, j * squareSize, screenY(i), shape, false);
                 }
             }
         }
     }
 
     private void drawCurrentPiece(Graphics g) {
-        Piece currentPiece = board.getCurrentPiece();
-        if (board.isStarted() && currentPiece.getShape() != Shape.Tetrominoe.NoShape) {
-            int squareSize = getSquareSize();
+        Orientation piece = board.getCurrentOrientation();
+        if (board.isStarted() && piece.shape() != Shape.Tetrominoe.NoShape) {
             for (int i = 0; i < 4; i++) {
-                int x = currentPiece.getX() + currentPiece.x(i);
-                int y = currentPiece.getY() - currentPiece.y(i);
-                if (y < Board.BOARD_HEIGHT) {
-                    drawSquare(g, x * squareSize, (Board.BOARD_HEIGHT - 1 - y) * squareSize, currentPiece.getShape(), false);
+                int x = board.getCurrentX() + piece.x(i);
+                int y = board.getCurrentY() - piece.y(i);
+                if (isVisible(y) && isVisibleColumn(x)) {
+                    drawSquare(g, x * squareSize, screenY(y), piece.shape(), false);
                 }
             }
         }
@@ -116,47 +431,28 @@ public class BoardPanel extends JPanel {
             return;
         }
         
-        Piece currentPiece = board.getCurrentPiece();
-        if (currentPiece.getShape() == Shape.Tetrominoe.NoShape) {
+        Orientation piece = board.getCurrentOrientation();
+        if (piece.shape() == Shape.Tetrominoe.NoShape) {
             return;
         }
 
         int ghostY = board.getGhostPieceY();
-        int squareSize = getSquareSize();
 
         for (int i = 0; i < 4; i++) {
-            int x = currentPiece.getX() + currentPiece.x(i);
-            int y = ghostY - currentPiece.y(i);
-             if (y < Board.BOARD_HEIGHT) {
-                drawSquare(g, x * squareSize, (Board.BOARD_HEIGHT - 1 - y) * squareSize, currentPiece.getShape(), true);
+            int x = board.getCurrentX() + piece.x(i);
+            int y = ghostY - piece.y(i);
+             if (isVisible(y) && isVisibleColumn(x)) {
+                drawSquare(g, x * squareSize, screenY(y), piece.shape(), true);
             }
         }
     }
 
     private void drawSquare(Graphics g, int x, int y, Shape.Tetrominoe shape, boolean isGhost) {
-        int size = getSquareSize();
-        Color[] colors = currentTheme.pieceColors();
-        Color color = colors[shape.ordinal()];
-
-        if (isGhost) {
-            g.setColor(color.darker()); // Cor para a peça fantasma
-            g.drawRect(x + 1, y + 1, size - 2, size - 2); // Desenha apenas o contorno
-        } else {
-            g.setColor(color);
-            g.fillRect(x + 1, y + 1, size - 2, size - 2);
-
-            g.setColor(color.brighter());
-            g.drawLine(x, y + size - 1, x, y);
-            g.drawLine(x, y, x + size - 1, y);
-
-            g.setColor(color.darker());
-            g.drawLine(x + 1, y + size - 1, x + size - 1, y + size - 1);
-            g.drawLine(x + size - 1, y + size - 1, x + size - 1, y + 1);
-        }
+        g.drawImage(isGhost ? sprites.ghost(shape) : sprites.tile(shape), x, y, null);
     }
-    
-    private int getSquareSize() {
-        return 40;
+
+    public int getSquareSize() {
+        return squareSize;
     }
 }
 
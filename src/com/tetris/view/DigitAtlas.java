@@ -0,0 +1,74 @@
+package com.tetris.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Os algarismos de 0 a 9 pré-desenhados lado a lado numa única imagem, com largura fixa.
+ * Um número é desenhado copiando um pedaço da imagem por algarismo, sem montar Strings
+ * (nada de String.format a cada quadro) nem criar objetos.
+ */
+public final class DigitAtlas {
+
+    private final BufferedImage strip;
+    private final int glyphWidth;
+    private final int ascent;
+    private final int height;
+
+    public DigitAtlas(Font font, Color color) {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+
+        int widest = 0;
+        for (char c = '0'; c <= '9'; c++) {
+            widest = Math.max(widest, metrics.charWidth(c));
+        }
+        glyphWidth = widest;
+        ascent = metrics.getAscent();
+        height = metrics.getAscent() + metrics.getDescent();
+
+        strip = new BufferedImage(10 * glyphWidth, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = strip.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+        for (int d = 0; d <= 9; d++) {
+            char c = (char) ('0' + d);
+            g.drawString(String.valueOf(c), d * glyphWidth + (glyphWidth - metrics.charWidth(c)) / 2, ascent);
+        }
+        g.dispose();
+    }
+
+    /**
+     * Desenha {@code value} (não negativo) com pelo menos {@code minDigits} algarismos,
+     * completando com zeros à esquerda, com a linha de base em {@code baseline}.
+     */
+    public void draw(Graphics g, int value, int minDigits, int x, int baseline) {
+        int digits = Math.max(minDigits, digitCount(value));
+        int top = baseline - ascent;
+        int remaining = value;
+        for (int i = digits - 1; i >= 0; i--) {
+            int d = remaining % 10;
+            remaining /= 10;
+            int dx = x + i * glyphWidth;
+            g.drawImage(strip, dx, top, dx + glyphWidth, top + height,
+                    d * glyphWidth, 0, (d + 1) * glyphWidth, height, null);
+        }
+    }
+
+    private static int digitCount(int value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+}
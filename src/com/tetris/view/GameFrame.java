@@ -1,6 +1,6 @@
 package com.tetris.view;
 
-import com.tetris.util.SoundManager;
+import com.tetris.model.Board;
 import java.awt.Dimension;
 import java.net.URL;
 import javax.swing.ImageIcon;
@@ -18,12 +18,12 @@ public class GameFrame extends JFrame {
     private JLayeredPane layeredPane;
     private com.tetris.controller.GameController controller;
 
-    private void initComponents() {
+    private void initComponents(int columns, int rows) {
         // Cria o painel em camadas
         layeredPane = new JLayeredPane();
         
         // Cria os nossos painéis
-        gamePanel = new GamePanel();
+        gamePanel = new GamePanel(columns, rows);
         overlayPanel = new OverlayPanel();
 
         // Define o tamanho dos painéis para que ocupem toda a janela
@@ -65,6 +65,16 @@ public class GameFrame extends JFrame {
         return overlayPanel;
     }
 
+    /**
+     * Durante a partida, no modo de renderização ativa, o canvas fica visível e o overlay
+     * (transparente, por cima de tudo) é escondido: um componente leve sobre o Canvas
+     * recortaria a área dele.
+     */
+    public void showActiveRendering(boolean active) {
+        gamePanel.showActiveRendering(active);
+        overlayPanel.setVisible(!active);
+    }
+
     public void setController(com.tetris.controller.GameController controller) {
         this.controller = controller;
         if (this.overlayPanel != null) {
@@ -77,8 +87,14 @@ public class GameFrame extends JFrame {
     }
 
     public GameFrame() {
-        initComponents();
-        SoundManager.playMusic("tetris_theme.wav");  // coloque o arquivo em /resources/music/
+        this(Board.DEFAULT_WIDTH, Board.DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Janela dimensionada para um tabuleiro de 'columns' x 'rows' células.
+     */
+    public GameFrame(int columns, int rows) {
+        initComponents(columns, rows);
     }
 
 }
@@ -1,10 +1,12 @@
 package com.tetris.view;
 
+import com.tetris.model.Board;
 import com.tetris.model.Theme;
 
 import javax.swing.JPanel;
 import javax.swing.JButton;
 import java.awt.BorderLayout;
+import java.awt.CardLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import javax.swing.SwingUtilities;
@@ -22,18 +24,36 @@ import javax.swing.border.Border;
  */
 public class GamePanel extends JPanel {
 
+    private static final String SWING_VIEW = "swing";
+    private static final String ACTIVE_VIEW = "ativo";
+
     private BoardPanel boardPanel;
     private InfoPanel infoPanel;
     private JButton historyButton;
+    private int columns;
+    private int rows;
+
+    // Modo de renderização ativa (opcional): um Canvas no lugar dos painéis durante a partida
+    private final CardLayout views = new CardLayout();
+    private JPanel swingView;
+    private ActiveRenderer activeRenderer;
+    private boolean activeShown = false;
 
     public GamePanel() {
-        initComponents();
+        this(Board.DEFAULT_WIDTH, Board.DEFAULT_HEIGHT);
+    }
+
+    public GamePanel(int columns, int rows) {
+        initComponents(columns, rows);
     }
 
-    private void initComponents() {
-        setLayout(new BorderLayout());
+    private void initComponents(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        setLayout(views);
+        swingView = new JPanel(new BorderLayout());
 
-        boardPanel = new BoardPanel();
+        boardPanel = new BoardPanel(columns, rows);
         infoPanel = new InfoPanel();
 
         // Painel lateral que contém as info visual e botões
@@ -65,8 +85,37 @@ public class GamePanel extends JPanel {
         buttonsPanel.add(historyButton);
         sidePanel.add(buttonsPanel, BorderLayout.SOUTH);
 
-        add(boardPanel, BorderLayout.CENTER);
-        add(sidePanel, BorderLayout.EAST);
+        swingView.add(boardPanel, BorderLayout.CENTER);
+        swingView.add(sidePanel, BorderLayout.EAST);
+        add(swingView, SWING_VIEW);
+    }
+
+    /**
+     * Cria o canvas da renderização ativa, do mesmo tamanho dos painéis. Ele só aparece
+     * (e só desenha) enquanto {@link #showActiveRendering(boolean)} estiver ligado.
+     * @param targetFps quadros por segundo; 0 = sem limite
+     */
+    public ActiveRenderer enableActiveRendering(int targetFps) {
+        if (activeRenderer == null) {
+            activeRenderer = new ActiveRenderer(columns, rows, targetFps, swingView.getPreferredSize());
+            add(activeRenderer, ACTIVE_VIEW);
+            revalidate();
+        }
+        return activeRenderer;
+    }
+
+    /**
+     * Alterna entre o canvas ativo e os painéis do Swing (menus, pausa e histórico usam os painéis).
+     */
+    public void showActiveRendering(boolean active) {
+        if (activeRenderer == null || active == activeShown) return;
+        activeShown = active;
+        views.show(this, active ? ACTIVE_VIEW : SWING_VIEW);
+        activeRenderer.setRendering(active);
+    }
+
+    public ActiveRenderer getActiveRenderer() {
+        return activeRenderer;
     }
 
     /**
@@ -75,6 +124,9 @@ public class GamePanel extends JPanel {
     public void updateTheme(Theme theme) {
         infoPanel.updateTheme(theme);
         boardPanel.updateTheme(theme);
+        if (activeRenderer != null) {
+            activeRenderer.setTheme(theme);
+        }
         if (historyButton != null) {
             styleHistoryButton(historyButton, infoPanel.getBackground());
         }
@@ -1,7 +1,7 @@
 package com.tetris.view;
 
-import com.tetris.model.Board;
-import com.tetris.model.Piece;
+import com.tetris.model.BoardState;
+import com.tetris.model.Orientation;
 import com.tetris.model.Shape;
 import com.tetris.model.Theme;
 import java.awt.Color;
@@ -9,171 +9,234 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 import javax.swing.JPanel;
 
 /**
  * Painel responsável por exibir as informações do jogo (pontuação, nível, etc.).
  * Esta é uma classe puramente visual (View).
+ *
+ * Os blocos, títulos e a dica de controle não mudam durante a partida: ficam numa imagem
+ * desenhada uma vez por tema (e por altura do painel). Os números saem de um
+ * {@link DigitAtlas} e a próxima peça dos {@link TileSprites}, então repintar o painel
+ * não cria Strings, Fonts nem Colors.
  */
 public class InfoPanel extends JPanel {
 
     private static final int PANEL_WIDTH = 250;
     private static final int SQUARE_PREVIEW_SIZE = 20;
 
-    private Board board;
+    // Layout dos blocos (também usado para repintar só o bloco que mudou)
+    private static final int PADDING = 20;
+    private static final int TOP = 40;
+    private static final int BLOCK_HEIGHT = 60;
+    private static final int SPACING = 15;
+    private static final int NEXT_BLOCK_HEIGHT = 110;
+    private static final int VALUES_BOTTOM = TOP + 3 * BLOCK_HEIGHT + 2 * SPACING;
+    private static final int NEXT_TOP = VALUES_BOTTOM + SPACING;
+    private static final int HINT_HEIGHT = 60;
+    private static final int HINT_BOTTOM_MARGIN = 85;
+    private static final int TITLE_BASELINE = 22;
+    private static final int VALUE_BASELINE = 48;
+    private static final int TEXT_INSET = 15;
+    private static final int ARC = 15;
+
+    // Cor #FFFFF0 (ivory) para o fundo dos blocos de informação
+    private static final Color BLOCK_COLOR = new Color(0xFF, 0xFF, 0xF0);
+    private static final Color BLOCK_BORDER = BLOCK_COLOR.darker();
+    private static final Font TITLE_FONT = new Font("Consolas", Font.PLAIN, 14);
+    private static final Font VALUE_FONT = new Font("Consolas", Font.BOLD, 22);
+    private static final Font HINT_FONT = new Font("Consolas", Font.BOLD, 18);
+    private static final DigitAtlas DIGITS = new DigitAtlas(VALUE_FONT, Color.BLACK);
+
+    private BoardState board;
     private Theme currentTheme;
+    private TileSprites previewSprites;
+
+    // Parte fixa do painel para o tema atual (null = refazer no próximo paint)
+    private BufferedImage chrome;
 
     public InfoPanel() {
         this.currentTheme = Theme.AVAILABLE_THEMES[0];
         setPreferredSize(new Dimension(PANEL_WIDTH, 1)); // A altura será definida pelo layout
         setBackground(currentTheme.uiBackground());
+        previewSprites = TileSprites.of(currentTheme, SQUARE_PREVIEW_SIZE);
     }
 
-    public void updateInfo(Board board) {
-        this.board = board;
+    /**
+     * Troca o estado exibido. Só repinta se algo visível mudou: os números, a próxima
+     * peça ou o início/fim da partida (que mostra ou esconde o painel todo).
+     */
+    public void updateInfo(BoardState next) {
+        BoardState previous = this.board;
+        this.board = next;
+        if (previous == null || previous.isStarted() != next.isStarted()) {
+            repaint();
+            return;
+        }
+        if (!next.isStarted()) {
+            return;
+        }
+        if (previous.getScore() != next.getScore() || previous.getHighScore() != next.getHighScore()
+                || previous.getLevel() != next.getLevel() || previous.getLinesCleared() != next.getLinesCleared()) {
+            repaint(0, TOP, PANEL_WIDTH, VALUES_BOTTOM - TOP + 1);
+        }
+        if (previous.getNextShape() != next.getNextShape()) {
+            repaint(0, NEXT_TOP, PANEL_WIDTH, NEXT_BLOCK_HEIGHT + 1);
+        }
     }
     
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
-        setBackground(theme.uiBackground());
+        if (theme != currentTheme) {
+            this.currentTheme = theme;
+            setBackground(theme.uiBackground());
+            previewSprites = TileSprites.of(theme, SQUARE_PREVIEW_SIZE);
+            chrome = null;
+            repaint();
+        }
+    }
+
+    /**
+     * Troca o estado sem pedir repaint (modo ativo: quem desenha é o {@link ActiveRenderer}).
+     */
+    public void setState(BoardState state) {
+        this.board = state;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        render(g);
+    }
 
+    /**
+     * Desenha o painel inteiro em 'g', no tamanho atual do componente.
+     */
+    public void render(Graphics g) {
         if (board == null || !board.isStarted()) {
+            g.setColor(currentTheme.uiBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
             return;
         }
 
-        drawGameInfo((Graphics2D) g);
+        if (chrome == null || chrome.getHeight() != getHeight()) {
+            chrome = renderChrome();
+        }
+        g.drawImage(chrome, 0, 0, null);
+        drawValues(g);
+        drawNextPiece(g);
+    }
+
+    // Largura de cada um dos blocos lado a lado (Nível e Linhas)
+    private static int halfWidth() {
+        return (PANEL_WIDTH - 2 * PADDING - SPACING) / 2;
     }
-    
+
     /**
-     * Desenha a interface de informações do jogo com um design aprimorado.
-     * @param g2d O contexto gráfico 2D para um melhor desenho.
+     * Desenha a parte fixa (fundo, blocos e títulos) numa imagem do tamanho do painel.
      */
-    private void drawGameInfo(Graphics2D g2d) {
+    private BufferedImage renderChrome() {
+        int height = Math.max(1, getHeight());
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        BufferedImage image = gc != null
+                ? gc.createCompatibleImage(PANEL_WIDTH, height, Transparency.OPAQUE)
+                : new BufferedImage(PANEL_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
         // Ativa o anti-aliasing para bordas mais suaves
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        Color textColor = (currentTheme.uiBackground().getRed() < 128) ? Color.WHITE : Color.BLACK;
-        
-        int padding = 20;
-        int blockWidth = PANEL_WIDTH - (2 * padding);
-        int blockHeight = 60;
-        int spacing = 15;
-        
-        int currentY = 40;
+        g.setColor(currentTheme.uiBackground());
+        g.fillRect(0, 0, PANEL_WIDTH, height);
+
+        int blockWidth = PANEL_WIDTH - (2 * PADDING);
+        int currentY = TOP;
+
+        // Blocos de informação
+        currentY = drawBlock(g, "RECORDE", PADDING, currentY, blockWidth, BLOCK_HEIGHT);
+        currentY += SPACING;
+        currentY = drawBlock(g, "PONTUAÇÃO", PADDING, currentY, blockWidth, BLOCK_HEIGHT);
+        currentY += SPACING;
 
-        // Desenha blocos de informação
-        currentY = drawInfoBlock(g2d, "RECORDE", String.format("%06d", board.getHighScore()), padding, currentY, blockWidth, blockHeight, textColor);
-        currentY += spacing;
-        currentY = drawInfoBlock(g2d, "PONTUAÇÃO", String.format("%06d", board.getScore()), padding, currentY, blockWidth, blockHeight, textColor);
-        currentY += spacing;
-        
         // Blocos lado a lado para Nível e Linhas
-        int halfWidth = (blockWidth - spacing) / 2;
-        drawInfoBlock(g2d, "NÍVEL", String.format("%02d", board.getLevel()), padding, currentY, halfWidth, blockHeight, textColor);
-        drawInfoBlock(g2d, "LINHAS", String.format("%03d", board.getLinesCleared()), padding + halfWidth + spacing, currentY, halfWidth, blockHeight, textColor);
-        currentY += blockHeight + spacing;
+        drawBlock(g, "NÍVEL", PADDING, currentY, halfWidth(), BLOCK_HEIGHT);
+        drawBlock(g, "LINHAS", PADDING + halfWidth() + SPACING, currentY, halfWidth(), BLOCK_HEIGHT);
 
         // Bloco da Próxima Peça com altura aumentada
-        currentY = drawNextPiecePanel(g2d, "PRÓXIMA PEÇA", padding, currentY, blockWidth, 110, textColor);
-        
+        drawBlock(g, "PRÓXIMA PEÇA", PADDING, NEXT_TOP, blockWidth, NEXT_BLOCK_HEIGHT);
+
         // Bloco de Dica de Controle na parte inferior
-        drawControlHintBlock(g2d, "PAUSA (P)", padding, getHeight() - 85, blockWidth, 60, textColor);
+        drawControlHintBlock(g, "PAUSA (P)", PADDING, height - HINT_BOTTOM_MARGIN, blockWidth, HINT_HEIGHT);
+
+        g.dispose();
+        return image;
     }
 
     /**
-     * Helper para desenhar um bloco de informação estilizado.
+     * Helper para desenhar um bloco estilizado com o título (sem o valor).
      */
-    private int drawInfoBlock(Graphics2D g, String title, String value, int x, int y, int width, int height, Color textColor) {
-        // Cor #FFFFF0 (ivory) para o fundo dos blocos de informação
-        Color blockColor = new Color(0xFF, 0xFF, 0xF0);
-        Color borderColor = blockColor.darker();
-
-        g.setColor(blockColor);
-        g.fillRoundRect(x, y, width, height, 15, 15);
+    private int drawBlock(Graphics2D g, String title, int x, int y, int width, int height) {
+        g.setColor(BLOCK_COLOR);
+        g.fillRoundRect(x, y, width, height, ARC, ARC);
         
-        g.setColor(borderColor);
-        g.drawRoundRect(x, y, width, height, 15, 15);
+        g.setColor(BLOCK_BORDER);
+        g.drawRoundRect(x, y, width, height, ARC, ARC);
         
         g.setColor(Color.BLACK);  // Define a cor do texto como preta
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        g.drawString(title, x + 15, y + 22);
-        
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString(value, x + 15, y + 48);
+        g.setFont(TITLE_FONT);
+        g.drawString(title, x + TEXT_INSET, y + TITLE_BASELINE);
 
         return y + height;
     }
 
     /**
-     * Helper para desenhar o painel da próxima peça.
+     * Os quatro números, com zeros à esquerda como antes (%06d, %02d, %03d).
      */
-    private int drawNextPiecePanel(Graphics2D g, String title, int x, int y, int width, int height, Color textColor) {
-        Color blockColor = new Color(0xFF, 0xFF, 0xF0);  // Cor ivory
-        Color borderColor = blockColor.darker();
-
-        g.setColor(blockColor);
-        g.fillRoundRect(x, y, width, height, 15, 15);
-        g.setColor(borderColor);
-        g.drawRoundRect(x, y, width, height, 15, 15);
+    private void drawValues(Graphics g) {
+        int x = PADDING + TEXT_INSET;
+        int y = TOP;
+        DIGITS.draw(g, board.getHighScore(), 6, x, y + VALUE_BASELINE);
+        y += BLOCK_HEIGHT + SPACING;
+        DIGITS.draw(g, board.getScore(), 6, x, y + VALUE_BASELINE);
+        y += BLOCK_HEIGHT + SPACING;
+        DIGITS.draw(g, board.getLevel(), 2, x, y + VALUE_BASELINE);
+        DIGITS.draw(g, board.getLinesCleared(), 3, x + halfWidth() + SPACING, y + VALUE_BASELINE);
+    }
 
-        g.setColor(Color.BLACK);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        g.drawString(title, x + 15, y + 22);
-        
-        Piece nextPiece = board.getNextPiece();
-        if (nextPiece != null) {
-            // Centraliza a peça dentro do novo espaço maior
-            int previewX = x + (width / 2) - (2 * SQUARE_PREVIEW_SIZE);
-            int previewY = y + 45; // Corrigido para criar um vão em baixo
-            for (int i = 0; i < 4; i++) {
-                int px = previewX + (nextPiece.x(i) + 1) * SQUARE_PREVIEW_SIZE;
-                int py = previewY + (1 - nextPiece.y(i)) * SQUARE_PREVIEW_SIZE;
-                drawSquare(g, px, py, nextPiece.getShape(), SQUARE_PREVIEW_SIZE);
-            }
+    /**
+     * A próxima peça, centralizada no seu bloco.
+     */
+    private void drawNextPiece(Graphics g) {
+        Shape.Tetrominoe nextShape = board.getNextShape();
+        if (nextShape == null || nextShape == Shape.Tetrominoe.NoShape) {
+            return;
+        }
+        Orientation nextPiece = Shape.orientation(nextShape, 0);
+        int blockWidth = PANEL_WIDTH - (2 * PADDING);
+        int previewX = PADDING + (blockWidth / 2) - (2 * SQUARE_PREVIEW_SIZE);
+        int previewY = NEXT_TOP + 45; // deixa um vão embaixo
+        for (int i = 0; i < 4; i++) {
+            int px = previewX + (nextPiece.x(i) + 1) * SQUARE_PREVIEW_SIZE;
+            int py = previewY + (1 - nextPiece.y(i)) * SQUARE_PREVIEW_SIZE;
+            g.drawImage(previewSprites.tile(nextShape), px, py, null);
         }
-        return y + height;
     }
 
     /**
      * Helper para desenhar o painel de dica de controle.
      */
-    private void drawControlHintBlock(Graphics2D g, String text, int x, int y, int width, int height, Color textColor) {
-        Color blockColor = new Color(0xFF, 0xFF, 0xF0);  // Cor ivory
-        Color borderColor = blockColor.darker();
-
-        g.setColor(blockColor);
-        g.fillRoundRect(x, y, width, height, 15, 15);
-        g.setColor(borderColor);
-        g.drawRoundRect(x, y, width, height, 15, 15);
+    private void drawControlHintBlock(Graphics2D g, String text, int x, int y, int width, int height) {
+        g.setColor(BLOCK_COLOR);
+        g.fillRoundRect(x, y, width, height, ARC, ARC);
+        g.setColor(BLOCK_BORDER);
+        g.drawRoundRect(x, y, width, height, ARC, ARC);
 
         g.setColor(Color.BLACK);
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(HINT_FONT);
         
         // Centraliza o texto
         int stringWidth = g.getFontMetrics().stringWidth(text);
         g.drawString(text, x + (width - stringWidth) / 2, y + (height / 2) + 7);
     }
-
-    private void drawSquare(Graphics g, int x, int y, Shape.Tetrominoe shape, int size) {
-        Color[] colors = currentTheme.pieceColors();
-        Color color = colors[shape.ordinal()];
-
-        g.setColor(color);
-        g.fillRect(x + 1, y + 1, size - 2, size - 2);
-
-        g.setColor(color.brighter());
-        g.drawLine(x, y + size - 1, x, y);
-        g.drawLine(x, y, x + size - 1, y);
-
-        g.setColor(color.darker());
-        g.drawLine(x + 1, y + size - 1, x + size - 1, y + size - 1);
-        g.drawLine(x + size - 1, y + size - 1, x + size - 1, y + 1);
-    }
 }
-
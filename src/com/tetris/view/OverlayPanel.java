@@ -1,7 +1,7 @@
 package com.tetris.view;
 
 import com.tetris.controller.GameController;
-import com.tetris.model.Board;
+import com.tetris.model.BoardState;
 import com.tetris.model.Theme;
 import javax.swing.JButton;
 import javax.swing.JPanel;
@@ -9,8 +9,13 @@ import javax.swing.SwingConstants;
 import javax.swing.Timer;
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
 import java.io.IOException;
@@ -22,10 +27,22 @@ import java.awt.event.ComponentEvent;
 /**
  * Um painel transparente que desenha os 'overlays' (telas por cima do jogo),
  * como a tela de início, pausa e game over.
+ *
+ * A parte fixa de cada tela (fundo escalado, escurecimento, títulos e manual de controles)
+ * é desenhada uma vez numa imagem compatível com a tela, refeita só ao trocar de tela,
+ * de tema ou de tamanho. O pisca-pisca da tela inicial repinta apenas o texto que pisca.
  */
 public class OverlayPanel extends JPanel {
 
-    private Board board;
+    private static final Font TITLE_FONT = new Font("Consolas", Font.BOLD, 36);
+    private static final Font TEXT_FONT = new Font("Consolas", Font.PLAIN, 14);
+    private static final Font PROMPT_FONT = new Font("Consolas", Font.BOLD, 18);
+    private static final Font SUBTITLE_FONT = new Font("Consolas", Font.PLAIN, 18);
+    private static final Color START_SHADE = new Color(0, 0, 0, 120);
+    private static final Color DIM_SHADE = new Color(0, 0, 0, 180);
+    private static final String START_PROMPT = "Digite seu nome para Jogar";
+
+    private BoardState board;
     private GameController controller;
     private JButton startButton;
     private Timer blinkTimer;
@@ -33,6 +50,13 @@ public class OverlayPanel extends JPanel {
     private BufferedImage backgroundImage;
     private javax.swing.JTextField nameField;
     private javax.swing.JLabel nameLabel;
+    private Theme currentTheme;
+
+    // Fundo já escalado para o tamanho atual e a parte fixa da tela atual
+    private BufferedImage scaledBackground;
+    private BufferedImage screenCache;
+    private int cachedMode = -1;
+    private Rectangle promptBounds;
 
     public OverlayPanel() {
         setOpaque(false); // Torna o painel transparente
@@ -43,6 +67,8 @@ public class OverlayPanel extends JPanel {
             @Override
             public void componentResized(ComponentEvent e) {
                 layoutStartButton();
+                scaledBackground = null;
+                invalidateScreenCache();
             }
         });
         initBlinker();
@@ -83,7 +109,10 @@ public class OverlayPanel extends JPanel {
     private void initBlinker() {
         blinkTimer = new Timer(600, e -> {
             showPress = !showPress;
-            repaint();
+            // Só a tela inicial pisca, e só o texto que pisca é repintado
+            if ((board == null || !board.isStarted()) && promptBounds != null) {
+                repaint(promptBounds);
+            }
         });
         blinkTimer.setInitialDelay(0);
         blinkTimer.start();
@@ -154,7 +183,9 @@ public class OverlayPanel extends JPanel {
      * Atualiza o estilo do overlay com base no tema atual.
      */
     public void updateTheme(Theme theme) {
-        if (theme == null) return;
+        if (theme == null || theme == currentTheme) return;
+        currentTheme = theme;
+        invalidateScreenCache();
         // Usa cores do tema para ajustar o botão
         Color bg = theme.uiBackground().darker();
         Color fg = (bg.getRed() < 128) ? Color.WHITE : Color.BLACK;
@@ -186,8 +217,17 @@ public class OverlayPanel extends JPanel {
         startButton.setEnabled(s != null && !s.trim().isEmpty());
     }
 
-    public void updateBoard(Board board) {
+    /**
+     * Troca o estado exibido. O overlay é transparente e cobre a janela toda, então só
+     * repinta quando muda de tela (início, pausa, game over ou nenhuma).
+     */
+    public void updateBoard(BoardState board) {
+        BoardState previous = this.board;
         this.board = board;
+        if (previous != null && board != null && overlayMode(previous) == overlayMode(board)) {
+            return;
+        }
+        repaint();
         // Mostrar/ocultar o botão Start conforme o estado do jogo
         if (startButton != null) {
             boolean showMenu = (board != null && !board.isStarted());
@@ -200,6 +240,19 @@ public class OverlayPanel extends JPanel {
         }
     }
 
+    // 0 = nenhuma tela, 1 = início, 2 = game over, 3 = pausa (mesma ordem do paintComponent)
+    private static int overlayMode(BoardState state) {
+        if (!state.isStarted()) return 1;
+        if (state.isGameOver()) return 2;
+        if (state.isPaused()) return 3;
+        return 0;
+    }
+
+    private void invalidateScreenCache() {
+        screenCache = null;
+        cachedMode = -1;
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -209,77 +262,128 @@ public class OverlayPanel extends JPanel {
         }
 
         // Decide qual overlay desenhar com base no estado do jogo
-        if (!board.isStarted()) {
-            drawStartScreen(g);
-        } else if (board.isGameOver()) {
-            drawGameOver(g);
-        } else if (board.isPaused()) {
-            drawPaused(g);
+        int mode = overlayMode(board);
+        if (mode == 0 || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        if (screenCache == null || cachedMode != mode) {
+            screenCache = renderScreen(mode);
+            cachedMode = mode;
+        }
+        g.drawImage(screenCache, 0, 0, null);
+
+        // Pisca o texto de instrução quando o jogo ainda não iniciou
+        if (mode == 1 && showPress) {
+            g.setColor(Color.WHITE);
+            g.setFont(PROMPT_FONT);
+            g.drawString(START_PROMPT, promptBounds.x, promptBounds.y + g.getFontMetrics().getAscent());
+        }
+    }
+
+    // Desenha a parte fixa de uma tela numa imagem transparente do tamanho do painel
+    private BufferedImage renderScreen(int mode) {
+        BufferedImage image = createImage(getWidth(), getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        try {
+            switch (mode) {
+                case 1:
+                    drawStartScreen(g);
+                    break;
+                case 2:
+                    drawGameOver(g);
+                    break;
+                case 3:
+                    drawPaused(g);
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private BufferedImage createImage(int width, int height, int transparency) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        return gc.createCompatibleImage(width, height, transparency);
+    }
+
+    // Fundo escalado uma vez por tamanho, com interpolação bicúbica (no lugar de getScaledInstance)
+    private BufferedImage getScaledBackground() {
+        if (scaledBackground == null) {
+            scaledBackground = createImage(getWidth(), getHeight(), Transparency.OPAQUE);
+            Graphics2D g = scaledBackground.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), null);
+            g.dispose();
         }
+        return scaledBackground;
     }
 
     private void drawStartScreen(Graphics g) {
         // Desenha imagem de fundo se existir, caso contrário usa um overlay escuro
         if (backgroundImage != null) {
-            // escala a imagem para preencher o painel
-            g.drawImage(backgroundImage.getScaledInstance(getWidth(), getHeight(), Image.SCALE_SMOOTH), 0, 0, null);
+            g.drawImage(getScaledBackground(), 0, 0, null);
             // aplica uma camada semi-transparente para aumentar contraste do texto
-            g.setColor(new Color(0, 0, 0, 120));
+            g.setColor(START_SHADE);
             g.fillRect(0, 0, getWidth(), getHeight());
         } else {
-            g.setColor(new Color(0, 0, 0, 180));
+            g.setColor(DIM_SHADE);
             g.fillRect(0, 0, getWidth(), getHeight());
         }
         
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(TITLE_FONT);
         g.drawString("TETRIS", getWidth() / 2 - 60, getHeight() / 2 - 150);
 
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
+        g.setFont(TEXT_FONT);
         int y = getHeight() / 2 - 80;
         int x = getWidth() / 2 - 110;
 
         drawControls(g, x, y);
-        
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
-        y = getHeight() - 150;
-        // Pisca o texto de instrução quando o jogo ainda não iniciou
-        if (showPress) {
-            String text = "Digite seu nome para Jogar";
-            int stringWidth = g.getFontMetrics().stringWidth(text);
-            g.drawString(text, (getWidth() - stringWidth) / 2, y);
-        }
+
+        // Posição do texto que pisca: desenhado fora do cache, a cada paint
+        FontMetrics metrics = g.getFontMetrics(PROMPT_FONT);
+        int stringWidth = metrics.stringWidth(START_PROMPT);
+        int baseline = getHeight() - 150;
+        promptBounds = new Rectangle((getWidth() - stringWidth) / 2, baseline - metrics.getAscent(),
+                stringWidth, metrics.getAscent() + metrics.getDescent());
     }
 
     private void drawGameOver(Graphics g) {
-        g.setColor(new Color(0, 0, 0, 180));
+        g.setColor(DIM_SHADE);
         g.fillRect(0, 0, getWidth(), getHeight());
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(TITLE_FONT);
         g.drawString("GAME OVER", getWidth()/2 - 80, getHeight() / 2);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
+        g.setFont(SUBTITLE_FONT);
         g.drawString("ENTER para reiniciar", getWidth()/2 - 110, getHeight() / 2 + 40);
     }
     
     private void drawPaused(Graphics g) {
-        g.setColor(new Color(0, 0, 0, 180));
+        g.setColor(DIM_SHADE);
         g.fillRect(0, 0, getWidth(), getHeight());
         
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(TITLE_FONT);
         g.drawString("PAUSADO", getWidth() / 2 - 70, getHeight() / 2 - 150);
 
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
+        g.setFont(TEXT_FONT);
         int y = getHeight() / 2 - 80;
         int x = getWidth() / 2 - 110;
         
         drawControls(g, x, y);
 
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(PROMPT_FONT);
         y = getHeight() - 150;
         g.drawString("Pressione P para continuar", getWidth() / 2 - 125, y);
     }
-
     /**
      * Novo método auxiliar para desenhar a lista de controlos.
      * É reutilizado pela tela de início e pela tela de pausa.
@@ -304,6 +408,10 @@ public class OverlayPanel extends JPanel {
         g.drawString("T   Mudar Tema Visual", x, y);
         y += 20;
         g.drawString("G   Ativar/Desativar Prévia", x, y);
+        y += 20;
+        g.drawString("Backspace   Voltar uma Peça (treino)", x, y);
+        y += 20;
+        g.drawString("A   Ligar/Desligar Autoplay", x, y);
     }
 }
 
@@ -0,0 +1,206 @@
+package com.tetris.view;
+
+import com.tetris.model.BoardState;
+import com.tetris.model.Orientation;
+import com.tetris.model.Shape;
+import com.tetris.model.Theme;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Desenha tabuleiros escrevendo direto no {@code int[]} de uma imagem
+ * ({@link BufferedImage#TYPE_INT_RGB} ou {@code TYPE_INT_ARGB}), sem chamadas ao Graphics
+ * por célula: cada célula é a cópia, linha a linha, de um quadradinho já pronto em ARGB
+ * empacotado.
+ *
+ * Os quadradinhos de um tema são montados uma vez a partir dos mesmos {@link TileSprites}
+ * do {@link BoardPanel}: vazio (fundo e grade), as 7 peças, as 7 fantasmas sobre o vazio e
+ * as 7 peças apagadas, usadas quando a partida acabou.
+ *
+ * Cada tabuleiro desenhado tem um array com o código da última coisa desenhada em cada
+ * célula ({@link #newDrawnCells}); só as células cujo código mudou são copiadas de novo.
+ * Uma instância não é thread-safe: use uma por thread de desenho.
+ */
+public final class PixelBoardRenderer {
+
+    private static final int MIN_GRID_CELL_SIZE = 8; // abaixo disso a grade só polui
+    private static final int SHAPES = Shape.Tetrominoe.values().length;
+    // Códigos de célula: 0 = vazio, forma, GHOST + forma, DIMMED + forma
+    private static final int GHOST = SHAPES;
+    private static final int DIMMED = 2 * SHAPES;
+    private static final byte NOT_DRAWN = -1;
+
+    private final Theme theme;
+    private final int cellSize;
+    private final int[][] tiles;
+
+    // Códigos do quadro sendo montado (reaproveitado entre chamadas)
+    private byte[] frame = new byte[0];
+
+    public PixelBoardRenderer(Theme theme, int cellSize) {
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Tamanho de célula inválido: " + cellSize);
+        }
+        this.theme = theme;
+        this.cellSize = cellSize;
+        this.tiles = new int[3 * SHAPES][];
+
+        TileSprites sprites = TileSprites.of(theme, cellSize);
+        tiles[0] = emptyTile();
+        for (Shape.Tetrominoe shape : Shape.Tetrominoe.values()) {
+            if (shape == Shape.Tetrominoe.NoShape) continue;
+            int i = shape.ordinal();
+            tiles[i] = compose(sprites.tile(shape));
+            tiles[GHOST + i] = compose(sprites.ghost(shape));
+            tiles[DIMMED + i] = dim(tiles[i]);
+        }
+    }
+
+    public Theme getTheme() {
+        return theme;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /** Array de células desenhadas para um tabuleiro novo: tudo marcado como por desenhar. */
+    public static byte[] newDrawnCells(int columns, int rows) {
+        byte[] drawn = new byte[columns * rows];
+        Arrays.fill(drawn, NOT_DRAWN);
+        return drawn;
+    }
+
+    /** Marca tudo como por desenhar (a imagem foi apagada ou o tema mudou). */
+    public static void invalidate(byte[] drawn) {
+        Arrays.fill(drawn, NOT_DRAWN);
+    }
+
+    /** O {@code int[]} de uma imagem TYPE_INT_*, para ser passado a {@link #render}. */
+    public static int[] pixelsOf(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Desenha {@code state} com o canto superior esquerdo em (x0, y0) de uma imagem de
+     * largura {@code stride}, copiando só as células que mudaram desde a última chamada
+     * com o mesmo {@code drawn}.
+     *
+     * @return quantas células foram copiadas
+     */
+    public int render(BoardState state, byte[] drawn, int[] pixels, int stride, int x0, int y0) {
+        int columns = state.getWidth();
+        int rows = state.getHeight();
+        int count = columns * rows;
+        if (frame.length < count) {
+            frame = new byte[count];
+        }
+        buildFrame(state, columns, rows);
+
+        int written = 0;
+        for (int y = 0; y < rows; y++) {
+            int rowStart = y * columns;
+            // A linha y = 0 do tabuleiro é a de baixo
+            int top = y0 + (rows - 1 - y) * cellSize;
+            for (int x = 0; x < columns; x++) {
+                byte code = frame[rowStart + x];
+                if (drawn[rowStart + x] == code) continue;
+                drawn[rowStart + x] = code;
+                blit(tiles[code], pixels, stride, x0 + x * cellSize, top);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    // Código de cada célula: travadas, depois a fantasma nas vazias e por cima a peça atual
+    private void buildFrame(BoardState state, int columns, int rows) {
+        boolean over = state.isGameOver();
+        for (int y = 0; y < rows; y++) {
+            int rowStart = y * columns;
+            long mask = state.rowMask(y);
+            if (mask == 0L) {
+                Arrays.fill(frame, rowStart, rowStart + columns, (byte) 0);
+                continue;
+            }
+            for (int x = 0; x < columns; x++) {
+                int shape = (mask & (1L << x)) != 0 ? state.shapeAt(x, y).ordinal() : 0;
+                frame[rowStart + x] = (byte) (over && shape != 0 ? DIMMED + shape : shape);
+            }
+        }
+
+        Orientation piece = state.getCurrentOrientation();
+        if (over || !state.isStarted() || piece.shape() == Shape.Tetrominoe.NoShape) {
+            return;
+        }
+        int shape = piece.shape().ordinal();
+        if (state.isGhostPieceEnabled()) {
+            int ghostY = state.getGhostPieceY();
+            for (int i = 0; i < 4; i++) {
+                mark(columns, rows, state.getCurrentX() + piece.x(i), ghostY - piece.y(i), GHOST + shape, true);
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            mark(columns, rows, state.getCurrentX() + piece.x(i), state.getCurrentY() - piece.y(i), shape, false);
+        }
+    }
+
+    private void mark(int columns, int rows, int x, int y, int code, boolean onlyIfEmpty) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) return;
+        int index = y * columns + x;
+        if (!onlyIfEmpty || frame[index] == 0) {
+            frame[index] = (byte) code;
+        }
+    }
+
+    private void blit(int[] tile, int[] pixels, int stride, int x, int y) {
+        int target = y * stride + x;
+        for (int row = 0, source = 0; row < cellSize; row++, source += cellSize, target += stride) {
+            System.arraycopy(tile, source, pixels, target, cellSize);
+        }
+    }
+
+    // Fundo do tabuleiro com a grade nas bordas de cima e da esquerda, como no BoardPanel
+    private int[] emptyTile() {
+        BufferedImage image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(theme.boardBackground());
+        g.fillRect(0, 0, cellSize, cellSize);
+        if (cellSize >= MIN_GRID_CELL_SIZE) {
+            g.setColor(theme.grid());
+            g.drawLine(0, 0, cellSize - 1, 0);
+            g.drawLine(0, 0, 0, cellSize - 1);
+        }
+        g.dispose();
+        return pixelsOf(image).clone();
+    }
+
+    // Sprite sobre o quadradinho vazio (a fantasma é transparente no meio)
+    private int[] compose(BufferedImage sprite) {
+        BufferedImage image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = pixelsOf(image);
+        System.arraycopy(tiles[0], 0, pixels, 0, pixels.length);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(sprite, 0, 0, null);
+        g.dispose();
+        return pixels.clone();
+    }
+
+    // Mesma peça em cinza escuro, misturada ao fundo
+    private int[] dim(int[] tile) {
+        Color background = theme.boardBackground();
+        int[] dimmed = new int[tile.length];
+        for (int i = 0; i < tile.length; i++) {
+            int p = tile[i];
+            int luma = (((p >> 16) & 0xFF) * 299 + ((p >> 8) & 0xFF) * 587 + (p & 0xFF) * 114) / 1000;
+            int r = (luma + background.getRed()) / 3;
+            int gr = (luma + background.getGreen()) / 3;
+            int b = (luma + background.getBlue()) / 3;
+            dimmed[i] = 0xFF000000 | (r << 16) | (gr << 8) | b;
+        }
+        return dimmed;
+    }
+}
@@ -0,0 +1,85 @@
+package com.tetris.view;
+
+import com.tetris.model.Shape;
+import com.tetris.model.Theme;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quadradinhos das peças pré-desenhados para um tema e um tamanho: o normal (com relevo)
+ * e o fantasma (só o contorno) de cada forma. São desenhados uma única vez e guardados num
+ * cache; a cada quadro basta copiar a imagem, sem criar cores com brighter()/darker().
+ */
+public final class TileSprites {
+
+    private record Key(Theme theme, int size) { }
+
+    private static final Map<Key, TileSprites> CACHE = new ConcurrentHashMap<>();
+
+    private final BufferedImage[] normal;
+    private final BufferedImage[] ghost;
+
+    /** Sprites do tema no tamanho pedido, criados na primeira chamada. */
+    public static TileSprites of(Theme theme, int size) {
+        return CACHE.computeIfAbsent(new Key(theme, size), key -> new TileSprites(key.theme(), key.size()));
+    }
+
+    private TileSprites(Theme theme, int size) {
+        Color[] colors = theme.pieceColors();
+        normal = new BufferedImage[colors.length];
+        ghost = new BufferedImage[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            normal[i] = createImage(size, Transparency.OPAQUE);
+            drawTile(normal[i], colors[i], size);
+            ghost[i] = createImage(size, Transparency.TRANSLUCENT);
+            drawGhost(ghost[i], colors[i], size);
+        }
+    }
+
+    public BufferedImage tile(Shape.Tetrominoe shape) {
+        return normal[shape.ordinal()];
+    }
+
+    public BufferedImage ghost(Shape.Tetrominoe shape) {
+        return ghost[shape.ordinal()];
+    }
+
+    // Imagem no formato da tela, para a cópia ser direta (e acelerada quando possível)
+    private static BufferedImage createImage(int size, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(size, size, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return gc.createCompatibleImage(size, size, transparency);
+    }
+
+    private static void drawTile(BufferedImage image, Color color, int size) {
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(1, 1, size - 2, size - 2);
+
+        g.setColor(color.brighter());
+        g.drawLine(0, size - 1, 0, 0);
+        g.drawLine(0, 0, size - 1, 0);
+
+        g.setColor(color.darker());
+        g.drawLine(1, size - 1, size - 1, size - 1);
+        g.drawLine(size - 1, size - 1, size - 1, 1);
+        g.dispose();
+    }
+
+    private static void drawGhost(BufferedImage image, Color color, int size) {
+        Graphics2D g = image.createGraphics();
+        g.setColor(color.darker());
+        g.drawRect(1, 1, size - 2, size - 2); // apenas o contorno; o resto fica transparente
+        g.dispose();
+    }
+}
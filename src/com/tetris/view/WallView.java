@@ -0,0 +1,276 @@
+package com.tetris.view;
+
+import com.tetris.engine.Pacer;
+import com.tetris.engine.SimulationLoop;
+import com.tetris.model.Board;
+import com.tetris.model.BoardState;
+import com.tetris.model.PieceGenerator;
+import com.tetris.model.Theme;
+import com.tetris.sim.BatchRunner;
+import com.tetris.sim.BotWall;
+
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parede de espectador: todas as partidas de um {@link BotWall} lado a lado numa única janela.
+ *
+ * A parede inteira é uma só imagem; a cada quadro o {@link PixelBoardRenderer} escreve nela
+ * só as células que mudaram, direto no array de pixels, e o paint é uma única cópia da imagem.
+ * Com centenas de tabuleiros isso substitui dezenas de milhares de chamadas ao Graphics.
+ *
+ * O ritmo vem de uma thread com prazos em nanossegundos, marcados por um {@link Pacer}
+ * (um Timer do Swing arredonda o período para milissegundos: 60 fps virariam 62,5). A cada
+ * prazo ela agenda um quadro na EDT, que desenha e pinta; se o anterior ainda não foi
+ * desenhado, o quadro conta como descartado.
+ *
+ * Uso: java -cp bin com.tetris.view.WallView [--boards N] [--policy random|heuristic|beam]
+ *                                            [--moves M] [--fps F] [--hz H] [--threads T]
+ *                                            [--seed S] [--generator uniform|bag]
+ *                                            [--width W] [--height H]
+ */
+public class WallView extends JPanel {
+
+    public static final int DEFAULT_BOARDS = 64;
+    public static final int DEFAULT_FPS = 60;
+
+    private static final int MAX_CELL_SIZE = 24;
+    private static final int MIN_CELL_SIZE = 2;
+    private static final int GAP = 4; // pixels entre tabuleiros
+    // Espaço da tela reservado para a borda da janela e a barra de tarefas
+    private static final int SCREEN_MARGIN = 80;
+
+    private final BotWall wall;
+    private final int columns;
+    private final int rows;
+    private final int gridColumns;
+    private final int cellSize;
+    private final PixelBoardRenderer renderer;
+
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final BoardState[] shown;
+    private final byte[][] drawn;
+    private final Pacer pacer;
+    private final AtomicBoolean framePending = new AtomicBoolean(false);
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private volatile boolean running = false;
+    private Thread paceThread;
+
+    // Estatísticas do título, atualizadas uma vez por segundo (só na EDT)
+    private long statsStart;
+    private long statsPieces;
+    private int statsFrames;
+    private long statsCells;
+    private long statsRenderNanos;
+    private long statsDropped;
+
+    public WallView(BotWall wall, int columns, int rows, Theme theme, int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("FPS inválido: " + fps);
+        }
+        this.pacer = new Pacer(TimeUnit.SECONDS.toNanos(1) / fps);
+        this.wall = wall;
+        this.columns = columns;
+        this.rows = rows;
+
+        int count = wall.getCount();
+        Rectangle screen = GraphicsEnvironment.isHeadless()
+                ? new Rectangle(0, 0, 1920, 1080)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        int bestColumns = 1;
+        int bestCell = 0;
+        // Número de colunas da grade que deixa as células maiores
+        for (int c = 1; c <= count; c++) {
+            int r = (count + c - 1) / c;
+            int cell = Math.min((screen.width - SCREEN_MARGIN - GAP * (c + 1)) / (c * columns),
+                    (screen.height - SCREEN_MARGIN - GAP * (r + 1)) / (r * rows));
+            if (cell > bestCell) {
+                bestCell = cell;
+                bestColumns = c;
+            }
+        }
+        this.gridColumns = bestColumns;
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, bestCell));
+        this.renderer = new PixelBoardRenderer(theme, cellSize);
+
+        int gridRows = (count + gridColumns - 1) / gridColumns;
+        int width = gridColumns * columns * cellSize + GAP * (gridColumns + 1);
+        int height = gridRows * rows * cellSize + GAP * (gridRows + 1);
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = PixelBoardRenderer.pixelsOf(image);
+        Arrays.fill(pixels, theme.uiBackground().getRGB());
+
+        this.shown = new BoardState[count];
+        this.drawn = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            drawn[i] = PixelBoardRenderer.newDrawnCells(columns, rows);
+        }
+
+        setPreferredSize(new Dimension(width, height));
+        setOpaque(true);
+    }
+
+    /** Começa a desenhar. Chamado na EDT. */
+    public void start() {
+        if (paceThread != null) return;
+        statsStart = System.nanoTime();
+        statsPieces = wall.getPiecesPlayed();
+        running = true;
+        paceThread = new Thread(this::pace, "parede");
+        paceThread.setDaemon(true);
+        paceThread.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    // Thread de ritmo: um quadro por prazo; os prazos perdidos são pulados, sem "correr atrás"
+    private void pace() {
+        pacer.start(System.nanoTime());
+        while (running) {
+            if (framePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::renderFrame);
+            } else {
+                droppedFrames.incrementAndGet(); // a EDT não desenhou o anterior a tempo
+            }
+            droppedFrames.addAndGet(pacer.awaitNext());
+        }
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /** Desenha na imagem as partidas com foto nova e pede o paint. Chamado na EDT. */
+    void renderFrame() {
+        framePending.set(false);
+        long start = System.nanoTime();
+        int stride = image.getWidth();
+        long cells = 0;
+        for (int i = 0; i < shown.length; i++) {
+            BoardState state = wall.get(i);
+            if (state == null || state == shown[i]) continue;
+            shown[i] = state;
+            int x = GAP + (i % gridColumns) * (columns * cellSize + GAP);
+            int y = GAP + (i / gridColumns) * (rows * cellSize + GAP);
+            cells += renderer.render(state, drawn[i], pixels, stride, x, y);
+        }
+        long end = System.nanoTime();
+        repaint();
+
+        statsFrames++;
+        statsCells += cells;
+        statsRenderNanos += end - start;
+        if (end - statsStart >= 1_000_000_000L) {
+            updateTitle(end);
+        }
+    }
+
+    private void updateTitle(long now) {
+        double seconds = (now - statsStart) / 1e9;
+        long pieces = wall.getPiecesPlayed();
+        long dropped = droppedFrames.get();
+        String title = String.format("Parede de bots: %d partidas, %.1f fps (%d descartados), desenho %.2f ms/quadro, "
+                        + "%.0f células/quadro, %.0f peças/s, %d terminadas",
+                wall.getCount(), statsFrames / seconds, dropped - statsDropped, statsRenderNanos / 1e6 / statsFrames,
+                (double) statsCells / statsFrames, (pieces - statsPieces) / seconds, wall.getGamesFinished());
+        JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(this);
+        if (frame != null) {
+            frame.setTitle(title);
+        }
+        statsStart = now;
+        statsPieces = pieces;
+        statsDropped = dropped;
+        statsFrames = 0;
+        statsCells = 0;
+        statsRenderNanos = 0;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.drawImage(image, 0, 0, null);
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    public static void main(String[] args) {
+        int boards = DEFAULT_BOARDS;
+        String policyName = "heuristic";
+        int moves = BotWall.DEFAULT_MOVES_PER_SECOND;
+        int fps = DEFAULT_FPS;
+        int hz = SimulationLoop.DEFAULT_HZ;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        PieceGenerator.Kind generatorKind = PieceGenerator.Kind.BAG;
+        int width = Board.DEFAULT_WIDTH;
+        int height = Board.DEFAULT_HEIGHT;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--boards": boards = Integer.parseInt(args[++i]); break;
+                case "--policy": policyName = args[++i]; break;
+                case "--moves": moves = Integer.parseInt(args[++i]); break;
+                case "--fps": fps = Integer.parseInt(args[++i]); break;
+                case "--hz": hz = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--generator": generatorKind = PieceGenerator.Kind.valueOf(args[++i].toUpperCase()); break;
+                case "--width": width = Integer.parseInt(args[++i]); break;
+                case "--height": height = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Argumento desconhecido: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        BatchRunner.PolicyFactory factory = BatchRunner.policy(policyName);
+        if (factory == null) {
+            System.err.println("Política desconhecida: " + policyName + " (disponíveis: " + BatchRunner.policyNames() + ")");
+            System.exit(1);
+        }
+        if (fps <= 0) {
+            System.err.println("FPS inválido: " + fps);
+            System.exit(1);
+        }
+
+        BotWall wall = new BotWall(boards, factory, width, height, generatorKind, moves, seed, threads);
+        SimulationLoop loop = new SimulationLoop(hz, wall);
+        final int columns = width;
+        final int rows = height;
+        final int targetFps = fps;
+
+        SwingUtilities.invokeLater(() -> {
+            WallView view = new WallView(wall, columns, rows, Theme.AVAILABLE_THEMES[0], targetFps);
+            JFrame frame = new JFrame("Parede de bots");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.add(view);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    view.stop();
+                    loop.stop();
+                    wall.shutdown();
+                }
+            });
+            frame.setVisible(true);
+            loop.start();
+            view.start();
+        });
+    }
+}